@@ -0,0 +1,41 @@
+package com.destaxa.api.benchmark;
+
+import com.destaxa.api.util.Money;
+import com.destaxa.api.util.formatter.AmountFormatter;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AmountFormatterBenchmark {
+
+    private final AmountFormatter amountFormatter = new AmountFormatter();
+    private final BigDecimal amount = new BigDecimal("1234.56");
+    private final BigInteger month = BigInteger.valueOf(7);
+    private final Money money = Money.ofMinorUnits(123456);
+    private final String formattedAmount = "000000123456";
+
+    @Benchmark
+    public String formatDecimal() {
+        return amountFormatter.formatDecimal(amount);
+    }
+
+    @Benchmark
+    public String formatMoney() {
+        return amountFormatter.format(money);
+    }
+
+    @Benchmark
+    public String formatInteger() {
+        return amountFormatter.formatInteger(month);
+    }
+
+    @Benchmark
+    public BigDecimal parseDecimal() {
+        return amountFormatter.parseDecimal(formattedAmount);
+    }
+}
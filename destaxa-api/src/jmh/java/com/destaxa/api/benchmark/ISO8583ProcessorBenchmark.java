@@ -0,0 +1,70 @@
+package com.destaxa.api.benchmark;
+
+import com.destaxa.api.dto.AuthorizationRequest;
+import com.destaxa.api.dto.AuthorizationResponse;
+import com.destaxa.api.exception.ISOFormatException;
+import com.destaxa.api.util.ISO8583Processor;
+import com.destaxa.api.util.formatter.AmountFormatter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOMsg;
+import org.jpos.iso.packager.GenericPackager;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static com.destaxa.api.util.ISO8583Processor.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ISO8583ProcessorBenchmark {
+
+    private ISO8583Processor processor;
+    private AuthorizationRequest request;
+    private byte[] responseMessage;
+
+    @Setup
+    public void setUp() throws ISOException {
+        GenericPackager packager = new GenericPackager(getClass().getResourceAsStream("/packager.xml"));
+        processor = new ISO8583Processor(packager, new AmountFormatter(), new SimpleMeterRegistry());
+
+        request = new AuthorizationRequest();
+        request.setExternalId("externalId123");
+        request.setValue(new BigDecimal("500.00"));
+        request.setCardNumber("1234567890123456");
+        request.setCvv("123");
+        request.setExpMonth(BigInteger.valueOf(12));
+        request.setExpYear(BigInteger.valueOf(28));
+        request.setHolderName("João da Silva");
+
+        ISOMsg isoMsg = new ISOMsg();
+        isoMsg.setPackager(packager);
+        isoMsg.setHeader(ISO_HEADER.getBytes(StandardCharsets.ISO_8859_1));
+        isoMsg.setMTI(MTI_AUTHORIZATION_RESPONSE);
+        isoMsg.set(FIELD_TRANSACTION_AMOUNT, "000000050000");
+        isoMsg.set(FIELD_TRANSMISSION_DATE_TIME, "1018120000");
+        isoMsg.set(FIELD_NSU, "123456");
+        isoMsg.set(FIELD_LOCAL_TRANSACTION_TIME, "120000");
+        isoMsg.set(FIELD_LOCAL_TRANSACTION_DATE, "1018");
+        isoMsg.set(FIELD_AUTHORIZATION_ID_RESPONSE, "a1b2c3");
+        isoMsg.set(FIELD_RESPONSE_CODE, "000");
+        isoMsg.set(FIELD_MERCHANT_ID, "externalId123");
+        isoMsg.set(FIELD_EXTERNAL_ID, "externalId123");
+        isoMsg.set(FIELD_PAYMENT_ID, "0f8fad5b-d9cb-469f-a165-70867728950e");
+        responseMessage = isoMsg.pack();
+    }
+
+    @Benchmark
+    public String toIso8583() throws ISOException {
+        return processor.toIso8583(request, 123456);
+    }
+
+    @Benchmark
+    public AuthorizationResponse fromIso8583() throws ISOFormatException {
+        return processor.fromIso8583(responseMessage);
+    }
+}
@@ -0,0 +1,138 @@
+package com.destaxa.api.admission;
+
+import com.destaxa.api.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Controle de admissão das autorizações publicadas.
+ * <p>
+ * Limita o número de autorizações em andamento a {@code max-in-flight}. Com {@code latency-target} configurado,
+ * o limite efetivo é reduzido na proporção em que a média móvel do tempo de resposta do autorizador passa do alvo,
+ * de forma que novas requisições sejam recusadas antes de as filas crescerem. Os limites podem ser alterados em
+ * tempo de execução pelo endpoint {@code /actuator/admission}.
+ */
+@Component
+public class AdmissionControl {
+
+    public static final String REASON_IN_FLIGHT = "in-flight";
+    public static final String REASON_LATENCY = "latency";
+    private static final double LATENCY_SMOOTHING = 0.1;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong averageLatencyNanos = new AtomicLong();
+    private final long retryAfterSeconds;
+    private final Counter inFlightRejections;
+    private final Counter latencyRejections;
+
+    private volatile int maxInFlight;
+    private volatile long latencyTargetNanos;
+
+    public AdmissionControl(MeterRegistry meterRegistry,
+        @Value("${authorization.admission.max-in-flight}") int maxInFlight,
+        @Value("${authorization.admission.latency-target}") long latencyTargetMillis,
+        @Value("${authorization.admission.retry-after}") long retryAfterSeconds) {
+        update(maxInFlight, latencyTargetMillis);
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        this.inFlightRejections = rejectionCounter(meterRegistry, REASON_IN_FLIGHT);
+        this.latencyRejections = rejectionCounter(meterRegistry, REASON_LATENCY);
+
+        Gauge.builder("authorization.admission.in-flight", inFlight, AtomicInteger::get)
+            .description("Autorizações admitidas e ainda sem resposta")
+            .register(meterRegistry);
+        Gauge.builder("authorization.admission.limit", this, AdmissionControl::effectiveLimit)
+            .description("Limite efetivo de autorizações em andamento")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Reserva uma vaga; cada chamada bem-sucedida deve ser seguida de {@link #release()}.
+     *
+     * @throws AdmissionRejectedException quando o limite efetivo foi atingido
+     */
+    public void acquire() {
+        int limit = effectiveLimit();
+
+        while (true) {
+            int current = inFlight.get();
+
+            if (current >= limit) {
+                if (limit < maxInFlight) {
+                    latencyRejections.increment();
+                    throw new AdmissionRejectedException("Autorizador acima da latência alvo", REASON_LATENCY, retryAfterSeconds);
+                }
+                inFlightRejections.increment();
+                throw new AdmissionRejectedException("Limite de autorizações em andamento atingido: " + limit, REASON_IN_FLIGHT, retryAfterSeconds);
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void recordLatency(long nanos) {
+        long current;
+        long updated;
+
+        do {
+            current = averageLatencyNanos.get();
+            updated = current == 0 ? nanos : current + (long) ((nanos - current) * LATENCY_SMOOTHING);
+        } while (!averageLatencyNanos.compareAndSet(current, updated));
+    }
+
+    public void update(int maxInFlight, long latencyTargetMillis) {
+        if (maxInFlight <= 0 || latencyTargetMillis < 0) {
+            throw new IllegalArgumentException("max-in-flight deve ser positivo e latency-target não pode ser negativo");
+        }
+
+        this.maxInFlight = maxInFlight;
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMillis);
+    }
+
+    public int effectiveLimit() {
+        int limit = maxInFlight;
+        long target = latencyTargetNanos;
+        long average = averageLatencyNanos.get();
+
+        if (target > 0 && average > target) {
+            return Math.max(1, (int) (limit * ((double) target / average)));
+        }
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    public long latencyTargetMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(latencyTargetNanos);
+    }
+
+    public long averageLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(averageLatencyNanos.get());
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("authorization.admission.rejected")
+            .description("Requisições recusadas pelo controle de admissão")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.destaxa.api.admission;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "admission")
+@RequiredArgsConstructor
+public class AdmissionEndpoint {
+
+    private final AdmissionControl admissionControl;
+
+    @ReadOperation
+    public Map<String, Object> admission() {
+        return Map.of(
+            "maxInFlight", admissionControl.maxInFlight(),
+            "latencyTarget", admissionControl.latencyTargetMillis(),
+            "effectiveLimit", admissionControl.effectiveLimit(),
+            "inFlight", admissionControl.inFlight(),
+            "averageLatency", admissionControl.averageLatencyMillis());
+    }
+
+    @WriteOperation
+    public Map<String, Object> update(@Nullable Integer maxInFlight, @Nullable Long latencyTarget) {
+        admissionControl.update(maxInFlight != null ? maxInFlight : admissionControl.maxInFlight(),
+            latencyTarget != null ? latencyTarget : admissionControl.latencyTargetMillis());
+        return admission();
+    }
+}
@@ -0,0 +1,6 @@
+package com.destaxa.api.config;
+
+public enum ListenerThreadMode {
+    PLATFORM,
+    VIRTUAL
+}
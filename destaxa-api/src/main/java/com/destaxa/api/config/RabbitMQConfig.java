@@ -1,7 +1,10 @@
 package com.destaxa.api.config;
 
 import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
@@ -10,9 +13,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Map;
+
 @Configuration
 public class RabbitMQConfig {
 
+    private static final String DEAD_LETTER_SUFFIX = ".dlq";
+
     @Value("${spring.rabbitmq.host}")
     private String host;
 
@@ -36,6 +43,8 @@ public class RabbitMQConfig {
         CachingConnectionFactory connectionFactory = new CachingConnectionFactory(host, port);
         connectionFactory.setUsername(username);
         connectionFactory.setPassword(password);
+        connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
+        connectionFactory.setPublisherReturns(true);
         return connectionFactory;
     }
 
@@ -46,16 +55,47 @@ public class RabbitMQConfig {
 
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
-        return new RabbitTemplate(connectionFactory);
+        RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
+        rabbitTemplate.setMandatory(true);
+        return rabbitTemplate;
     }
 
     @Bean
     public Queue autorizacaoQueue() {
-        return new Queue(autorizacaoQueue, true);
+        return QueueBuilder.durable(autorizacaoQueue)
+            .deadLetterExchange("")
+            .deadLetterRoutingKey(autorizacaoQueue + DEAD_LETTER_SUFFIX)
+            .build();
     }
 
     @Bean
     public Queue autorizacaoRespostaQueue() {
-        return new Queue(autorizacaoRespostaQueue, true);
+        return QueueBuilder.durable(autorizacaoRespostaQueue)
+            .deadLetterExchange("")
+            .deadLetterRoutingKey(autorizacaoRespostaQueue + DEAD_LETTER_SUFFIX)
+            .build();
+    }
+
+    @Bean
+    public Queue replyQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(autorizacaoRespostaQueue + "."), Map.of(
+            "x-dead-letter-exchange", "",
+            "x-dead-letter-routing-key", autorizacaoRespostaQueue + DEAD_LETTER_SUFFIX));
+    }
+
+    /**
+     * Recebe as requisições rejeitadas pelo autorizador sem reentrega.
+     */
+    @Bean
+    public Queue autorizacaoDeadLetterQueue() {
+        return new Queue(autorizacaoQueue + DEAD_LETTER_SUFFIX, true);
+    }
+
+    /**
+     * Recebe as respostas rejeitadas pela API sem reentrega, da fila compartilhada e das filas de cada instância.
+     */
+    @Bean
+    public Queue autorizacaoRespostaDeadLetterQueue() {
+        return new Queue(autorizacaoRespostaQueue + DEAD_LETTER_SUFFIX, true);
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.destaxa.api.controller;
+
+import com.destaxa.api.exception.StoreCapacityExceededException;
+import com.destaxa.api.stream.AuthorizationStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class AuthorizationStreamController {
+
+    private final AuthorizationStream authorizationStream;
+
+    @GetMapping(value = "/authorization/{externalId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAuthorization(@PathVariable String externalId) {
+        try {
+            return ResponseEntity.ok(authorizationStream.subscribeExternalId(externalId));
+        } catch (StoreCapacityExceededException e) {
+            log.warn("Assinatura SSE rejeitada: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping(value = "/merchant/{merchantId}/authorization/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMerchant(@PathVariable String merchantId) {
+        try {
+            return ResponseEntity.ok(authorizationStream.subscribeMerchant(merchantId));
+        } catch (StoreCapacityExceededException e) {
+            log.warn("Assinatura SSE rejeitada: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
@@ -1,18 +1,32 @@
 package com.destaxa.api.controller;
 
+import com.destaxa.api.admission.AdmissionControl;
 import com.destaxa.api.dto.AuthorizationRequest;
 import com.destaxa.api.dto.AuthorizationResponse;
+import com.destaxa.api.exception.AdmissionRejectedException;
+import com.destaxa.api.exception.PublishNotConfirmedException;
+import com.destaxa.api.exception.StoreCapacityExceededException;
 import com.destaxa.api.listener.ResponseListener;
-import com.destaxa.api.service.PaymentService;
+import com.destaxa.api.service.BulkAuthorizationService;
+import com.destaxa.api.service.IdempotentAuthorizationService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @RestController
@@ -20,19 +34,30 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class PaymentController {
 
-    private final PaymentService paymentService;
+    private final IdempotentAuthorizationService authorizationService;
     private final ResponseListener responseListener;
+    private final BulkAuthorizationService bulkAuthorizationService;
 
-    @PostMapping("/authorization")
-    public ResponseEntity<Map<String, String>> authorize(@Valid @RequestBody AuthorizationRequest request) {
+    @Value("${authorization.sync.max-wait}")
+    private long maxWait;
+
+    @PostMapping(value = "/authorization", params = "!wait")
+    public ResponseEntity<?> authorize(@Valid @RequestBody AuthorizationRequest request) {
         try {
-            paymentService.authorize(request);
+            CompletableFuture<AuthorizationResponse> decision = authorizationService.authorize(request);
+
+            if (decision.isDone() && !decision.isCompletedExceptionally()) {
+                return ResponseEntity.ok(decision.join());
+            }
 
-            Map<String, String> responseBody = new HashMap<>();
-            responseBody.put("externalId", request.getExternalId());
-            responseBody.put("message", "Solicitação de autorização enviada com sucesso.");
+            return acceptedResponse(request.getExternalId());
 
-            return new ResponseEntity<>(responseBody, HttpStatus.ACCEPTED);
+        } catch (AdmissionRejectedException e) {
+            return rejectedResponse(e);
+
+        } catch (StoreCapacityExceededException e) {
+            log.warn("Requisição de autorização rejeitada: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
 
         } catch (Exception e) {
             log.error("Erro ao processar requisição de autorização", e);
@@ -40,12 +65,71 @@ public class PaymentController {
         }
     }
 
+    @PostMapping(value = "/authorization", params = "wait")
+    public DeferredResult<ResponseEntity<?>> authorizeAndWait(@Valid @RequestBody AuthorizationRequest request,
+        @RequestParam("wait") String wait) {
+        String externalId = request.getExternalId();
+        long timeout = resolveWaitTimeout(wait);
+
+        DeferredResult<ResponseEntity<?>> result = new DeferredResult<>(timeout, () -> acceptedResponse(externalId));
+
+        try {
+            authorizationService.authorize(request).whenComplete((response, e) -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+
+                if (cause instanceof PublishNotConfirmedException) {
+                    log.warn("Autorização {} não publicada: {}", externalId, cause.getMessage());
+                    result.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+                } else if (cause != null) {
+                    log.error("Erro ao aguardar decisão da autorização {}", externalId, cause);
+                    result.setResult(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                } else {
+                    result.setResult(ResponseEntity.ok(response));
+                }
+            });
+
+            if (timeout == 0) {
+                result.setResult(acceptedResponse(externalId));
+            }
+
+        } catch (AdmissionRejectedException e) {
+            result.setResult(rejectedResponse(e));
+
+        } catch (StoreCapacityExceededException e) {
+            log.warn("Requisição de autorização rejeitada: {}", e.getMessage());
+            result.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        } catch (Exception e) {
+            log.error("Erro ao processar requisição de autorização", e);
+            result.setResult(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        }
+
+        return result;
+    }
+
+    @PostMapping(value = "/authorization/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void authorizeBulk(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        try {
+            bulkAuthorizationService.process(request.getInputStream(), response.getOutputStream());
+        } catch (StoreCapacityExceededException e) {
+            log.warn("Lote de autorizações rejeitado: {}", e.getMessage());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+
     @GetMapping("/authorization/{externalId}")
-    public ResponseEntity<AuthorizationResponse> getAuthorizationStatus(@PathVariable String externalId) {
+    public ResponseEntity<?> getAuthorizationStatus(@PathVariable String externalId) {
         try {
             AuthorizationResponse response = responseListener.getResponse(externalId);
 
             if (response == null) {
+                String failure = responseListener.getFailure(externalId);
+
+                if (failure != null) {
+                    return failedResponse(externalId, failure);
+                }
                 return ResponseEntity.status(HttpStatus.ACCEPTED).body(null);
             }
 
@@ -56,4 +140,45 @@ public class PaymentController {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    private ResponseEntity<Map<String, String>> acceptedResponse(String externalId) {
+        Map<String, String> responseBody = new HashMap<>();
+        responseBody.put("externalId", externalId);
+        responseBody.put("message", "Solicitação de autorização enviada com sucesso.");
+
+        return new ResponseEntity<>(responseBody, HttpStatus.ACCEPTED);
+    }
+
+    private ResponseEntity<Map<String, String>> failedResponse(String externalId, String reason) {
+        Map<String, String> responseBody = new HashMap<>();
+        responseBody.put("externalId", externalId);
+        responseBody.put("message", reason);
+
+        return new ResponseEntity<>(responseBody, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private ResponseEntity<?> rejectedResponse(AdmissionRejectedException e) {
+        log.debug("Requisição de autorização recusada pelo controle de admissão: {}", e.getMessage());
+
+        HttpStatus status = AdmissionControl.REASON_IN_FLIGHT.equals(e.getReason()) ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .build();
+    }
+
+    private long resolveWaitTimeout(String wait) {
+        if (wait.isBlank() || Boolean.parseBoolean(wait)) {
+            return maxWait;
+        }
+
+        if ("false".equalsIgnoreCase(wait)) {
+            return 0;
+        }
+
+        try {
+            return Math.max(0, Math.min(Long.parseLong(wait), maxWait));
+        } catch (NumberFormatException e) {
+            return maxWait;
+        }
+    }
 }
\ No newline at end of file
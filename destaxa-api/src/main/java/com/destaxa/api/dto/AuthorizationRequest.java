@@ -37,4 +37,7 @@ public class AuthorizationRequest {
     @NotBlank(message = "Holder name cannot be blank")
     @Size(max = 255, message = "Holder name must be at most 255 characters")
     private String holderName;
+
+    @Size(max = 64, message = "Merchant ID must be at most 64 characters")
+    private String merchantId;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.destaxa.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Uma linha da resposta NDJSON de {@code POST /api/authorization/bulk}. O {@code status} segue o código HTTP que a
+ * mesma requisição receberia no endpoint individual.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkAuthorizationResult {
+
+    private long line;
+    private String externalId;
+    private int status;
+    private AuthorizationResponse response;
+    private String error;
+}
@@ -0,0 +1,8 @@
+package com.destaxa.api.exception;
+
+public class PublishNotConfirmedException extends RuntimeException {
+
+    public PublishNotConfirmedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.destaxa.api.exception;
+
+public class StoreCapacityExceededException extends RuntimeException {
+
+    public StoreCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,52 +1,187 @@
 package com.destaxa.api.listener;
 
 import com.destaxa.api.dto.AuthorizationResponse;
+import com.destaxa.api.exception.ISOFormatException;
+import com.destaxa.api.metrics.ResponseCodeCounters;
+import com.destaxa.api.store.AuthorizationResultStore;
+import com.destaxa.api.store.InFlightStanIndex;
+import com.destaxa.api.store.PendingAuthorizationStore;
+import com.destaxa.api.stream.AuthorizationStream;
 import com.destaxa.api.util.ISO8583Processor;
-import lombok.RequiredArgsConstructor;
+import com.destaxa.api.util.IsoMessageView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.destaxa.api.util.ISO8583Processor.FIELD_EXTERNAL_ID;
+import static com.destaxa.api.util.ISO8583Processor.FIELD_NSU;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ResponseListener {
 
+    /**
+     * Valor da tag {@code queue} para as respostas entregues pelo transporte in-process.
+     */
+    static final String IN_PROCESS_QUEUE = "in-process";
+
     private final ISO8583Processor iso8583Processor;
-    private final Map<String, Runnable> callbacks = new ConcurrentHashMap<>();
-    private final Map<String, AuthorizationResponse> responses = new ConcurrentHashMap<>();
+    private final PendingAuthorizationStore pendingAuthorizationStore;
+    private final InFlightStanIndex inFlightStanIndex;
+    private final AuthorizationResultStore resultStore;
+    private final AuthorizationStream authorizationStream;
+    private final TaskExecutor deliveryExecutor;
+    private final ResponseCodeCounters responseCodeCounters;
+    private final MeterRegistry meterRegistry;
+    private final String responseQueueName;
+    private final Map<String, Timer> receiveTimers = new ConcurrentHashMap<>();
+
+    public ResponseListener(ISO8583Processor iso8583Processor, PendingAuthorizationStore pendingAuthorizationStore,
+        InFlightStanIndex inFlightStanIndex, AuthorizationResultStore resultStore, AuthorizationStream authorizationStream, @Qualifier("deliveryExecutor") TaskExecutor deliveryExecutor, ResponseCodeCounters responseCodeCounters,
+        MeterRegistry meterRegistry, @Value("${spring.rabbitmq.template.default-receive-queue}") String responseQueueName) {
+        this.iso8583Processor = iso8583Processor;
+        this.pendingAuthorizationStore = pendingAuthorizationStore;
+        this.inFlightStanIndex = inFlightStanIndex;
+        this.resultStore = resultStore;
+        this.authorizationStream = authorizationStream;
+        this.deliveryExecutor = deliveryExecutor;
+        this.responseCodeCounters = responseCodeCounters;
+        this.meterRegistry = meterRegistry;
+        this.responseQueueName = responseQueueName;
+        receiveTimers.put(responseQueueName, registerReceiveTimer(responseQueueName));
+    }
+
+    @RabbitListener(queues = {"${spring.rabbitmq.template.default-receive-queue}", "#{replyQueue.name}"})
+    public CompletableFuture<Void> onMessage(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        String queue = properties.getConsumerQueue() != null ? properties.getConsumerQueue() : responseQueueName;
+
+        return CompletableFuture.runAsync(() ->
+            handle(toIsoBytes(message.getBody()), properties.getCorrelationId(), queue), deliveryExecutor);
+    }
+
+    /**
+     * Processa uma resposta recebida por um transporte que não passa pelo RabbitMQ, na thread do chamador.
+     */
+    public void onResponse(byte[] isoMessage, String correlationId) {
+        handle(isoMessage, correlationId, IN_PROCESS_QUEUE);
+    }
 
-    @RabbitListener(queues = "${spring.rabbitmq.template.default-receive-queue}")
-    public void onMessage(String isoMessage) {
-        log.info("Mensagem recebida da fila autorizacao_resposta: {}", isoMessage);
+    private void handle(byte[] isoMessage, String correlationId, String queue) {
+        long start = System.nanoTime();
+
+        if (log.isInfoEnabled()) {
+            log.info("Mensagem recebida da fila {}: {}", queue, new String(isoMessage, StandardCharsets.ISO_8859_1));
+        }
 
         try {
-            AuthorizationResponse response = iso8583Processor.fromIso8583(isoMessage);
-            responses.put(response.getExternalId(), response);
+            IsoMessageView view = iso8583Processor.view(isoMessage);
+            String externalId = matchInFlight(view);
+
+            if (externalId == null) {
+                externalId = view.getString(FIELD_EXTERNAL_ID);
 
-            if (response.getExternalId() != null) {
-                Runnable callback = callbacks.remove(response.getExternalId());
+                if (correlationId != null && (externalId == null || externalId.isBlank())) {
+                    externalId = correlationId;
+                }
+            }
+
+            AuthorizationResponse response = iso8583Processor.fromIso8583(view);
+            response.setExternalId(externalId);
+            responseCodeCounters.increment(response.getResponseCode());
+
+            if (externalId != null) {
+                resultStore.put(externalId, response);
+
+                Consumer<AuthorizationResponse> callback = pendingAuthorizationStore.takeCallback(externalId);
 
                 if (callback != null) {
-                    callback.run();
+                    callback.accept(response);
                 }
+
+                authorizationStream.publish(response);
             }
 
             log.info("Resposta de autorização recebida: {}", response);
 
         } catch (Exception e) {
             log.error("Erro ao processar mensagem de resposta", e);
+        } finally {
+            receiveTimers.computeIfAbsent(queue, this::registerReceiveTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
-    public void registerCallback(String externalId, Runnable callback) {
-        callbacks.put(externalId, callback);
+    public void registerCallback(String externalId, Consumer<AuthorizationResponse> callback) {
+        pendingAuthorizationStore.registerCallback(externalId, callback);
     }
 
+    public void removeCallback(String externalId) {
+        pendingAuthorizationStore.removeCallback(externalId);
+    }
+
+    /**
+     * Encerra a autorização pendente cuja publicação não foi confirmada e avisa os assinantes do stream de eventos.
+     */
+    public void failPending(String externalId, String reason) {
+        pendingAuthorizationStore.fail(externalId, reason);
+        authorizationStream.publishFailure(externalId, reason);
+    }
+
+    /**
+     * @return o motivo da falha de publicação da autorização, ou {@code null} quando ela não falhou
+     */
+    public String getFailure(String externalId) {
+        return pendingAuthorizationStore.failure(externalId);
+    }
+
+    /**
+     * @return o resultado da autorização, que continua disponível para novas consultas até o fim do TTL
+     */
     public AuthorizationResponse getResponse(String externalId) {
-        return responses.remove(externalId);
+        return resultStore.get(externalId);
+    }
+
+    private String matchInFlight(IsoMessageView view) {
+        if (!view.hasField(FIELD_NSU)) {
+            return null;
+        }
+
+        try {
+            long stan = view.getLong(FIELD_NSU);
+            return stan > 0 && stan <= Integer.MAX_VALUE ? inFlightStanIndex.remove((int) stan) : null;
+        } catch (ISOFormatException e) {
+            return null;
+        }
+    }
+
+    private Timer registerReceiveTimer(String queue) {
+        return Timer.builder("rabbitmq.receive")
+            .description("Processamento de uma mensagem recebida do RabbitMQ")
+            .tag("queue", queue)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private byte[] toIsoBytes(byte[] body) {
+        for (byte b : body) {
+            if (b < 0) {
+                return new String(body, StandardCharsets.UTF_8).getBytes(StandardCharsets.ISO_8859_1);
+            }
+        }
+        return body;
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.destaxa.api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contadores de respostas de autorização por código (campo 39).
+ */
+@Component
+public class ResponseCodeCounters {
+
+    private static final String[] KNOWN_CODES = {"000", "051", "999"};
+    private static final int MAX_CODES = 64;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ResponseCodeCounters(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        for (String code : KNOWN_CODES) {
+            counters.put(code, register(code));
+        }
+    }
+
+    public void increment(String responseCode) {
+        String code = responseCode == null || responseCode.isBlank() ? "unknown" : responseCode;
+        Counter counter = counters.get(code);
+
+        if (counter == null) {
+            counter = counters.size() < MAX_CODES ? counters.computeIfAbsent(code, this::register) : counters.computeIfAbsent("other", this::register);
+        }
+
+        counter.increment();
+    }
+
+    private Counter register(String code) {
+        return Counter.builder("authorization.responses")
+            .description("Respostas de autorização por código")
+            .tag("code", code)
+            .register(meterRegistry);
+    }
+}
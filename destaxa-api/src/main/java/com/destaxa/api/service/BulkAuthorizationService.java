@@ -0,0 +1,329 @@
+package com.destaxa.api.service;
+
+import com.destaxa.api.admission.AdmissionControl;
+import com.destaxa.api.dto.AuthorizationRequest;
+import com.destaxa.api.dto.AuthorizationResponse;
+import com.destaxa.api.dto.BulkAuthorizationResult;
+import com.destaxa.api.exception.AdmissionRejectedException;
+import com.destaxa.api.exception.PublishNotConfirmedException;
+import com.destaxa.api.exception.StoreCapacityExceededException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Autorizações em lote: lê um stream NDJSON de {@link AuthorizationRequest} e escreve um stream NDJSON de
+ * {@link BulkAuthorizationResult}, na ordem em que as decisões chegam do autorizador.
+ * <p>
+ * Uma thread lê e valida as linhas e publica cada requisição pelo {@link IdempotentAuthorizationService} sem esperar
+ * a confirmação do broker; a thread da requisição HTTP escreve os resultados. No máximo {@code window} linhas ficam
+ * em andamento por lote: a leitura para até que resultados sejam escritos, de modo que a memória usada não depende
+ * do tamanho do stream. A saída é descarregada sempre que não há mais resultados prontos.
+ */
+@Slf4j
+@Service
+public class BulkAuthorizationService {
+
+    private static final BulkAuthorizationResult END_OF_INPUT = new BulkAuthorizationResult();
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+
+    private final IdempotentAuthorizationService authorizationService;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final TaskExecutor readerExecutor = new SimpleAsyncTaskExecutor("bulk-reader-");
+    private final Semaphore streams;
+    private final int maxStreams;
+    private final int window;
+    private final int maxLineLength;
+    private final Counter linesCounter;
+
+    public BulkAuthorizationService(IdempotentAuthorizationService authorizationService, Validator validator,
+        ObjectMapper objectMapper, MeterRegistry meterRegistry,
+        @Value("${authorization.bulk.max-streams}") int maxStreams,
+        @Value("${authorization.bulk.window}") int window,
+        @Value("${authorization.bulk.max-line-length}") int maxLineLength) {
+        if (maxStreams <= 0 || window <= 0 || maxLineLength <= 0) {
+            throw new IllegalArgumentException("Limites do endpoint de lote devem ser positivos");
+        }
+
+        this.authorizationService = authorizationService;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(AuthorizationRequest.class);
+        this.resultWriter = objectMapper.writerFor(BulkAuthorizationResult.class);
+        this.streams = new Semaphore(maxStreams);
+        this.maxStreams = maxStreams;
+        this.window = window;
+        this.maxLineLength = maxLineLength;
+
+        this.linesCounter = Counter.builder("authorization.bulk.lines")
+            .description("Linhas processadas pelo endpoint de autorizações em lote")
+            .register(meterRegistry);
+        Gauge.builder("authorization.bulk.streams", streams, s -> maxStreams - s.availablePermits())
+            .register(meterRegistry);
+    }
+
+    /**
+     * Processa o lote até o fim da entrada e até que todas as linhas tenham resultado.
+     *
+     * @throws StoreCapacityExceededException quando já há {@code max-streams} lotes em andamento; nada é escrito
+     */
+    public void process(InputStream input, OutputStream output) throws IOException {
+        if (!streams.tryAcquire()) {
+            throw new StoreCapacityExceededException("Limite de lotes simultâneos atingido: " + maxStreams);
+        }
+
+        try {
+            new BulkStream(input, output).run();
+        } finally {
+            streams.release();
+        }
+    }
+
+    private final class BulkStream {
+
+        private final InputStream input;
+        private final OutputStream output;
+        private final Semaphore permits = new Semaphore(window);
+        private final BlockingQueue<BulkAuthorizationResult> results = new ArrayBlockingQueue<>(window + 1);
+        private final CountDownLatch readerDone = new CountDownLatch(1);
+        private volatile long submitted;
+        private volatile boolean cancelled;
+
+        private BulkStream(InputStream input, OutputStream output) {
+            this.input = input;
+            this.output = output;
+        }
+
+        void run() throws IOException {
+            readerExecutor.execute(this::read);
+
+            try {
+                write();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Lote interrompido");
+            } finally {
+                cancelled = true;
+                awaitReader();
+            }
+        }
+
+        private void read() {
+            try {
+                LineReader lines = new LineReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), maxLineLength);
+                String line;
+
+                while (!cancelled && (line = lines.next()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    if (!acquirePermit()) {
+                        return;
+                    }
+
+                    submitted++;
+                    try {
+                        submit(lines.number(), line, lines.overflow());
+                    } catch (RuntimeException e) {
+                        log.error("Erro ao processar a linha {} do lote", lines.number(), e);
+                        complete(lines.number(), null, HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao processar autorização");
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Erro ao ler o lote de autorizações: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                results.offer(END_OF_INPUT);
+                readerDone.countDown();
+            }
+        }
+
+        private void write() throws IOException, InterruptedException {
+            boolean endOfInput = false;
+            long written = 0;
+
+            while (!endOfInput || written < submitted) {
+                BulkAuthorizationResult result = results.poll();
+
+                if (result == null) {
+                    output.flush();
+                    result = results.take();
+                }
+
+                if (result == END_OF_INPUT) {
+                    endOfInput = true;
+                    continue;
+                }
+
+                output.write(resultWriter.writeValueAsBytes(result));
+                output.write(LINE_SEPARATOR);
+                written++;
+                linesCounter.increment();
+                permits.release();
+            }
+
+            output.flush();
+        }
+
+        private void submit(long number, String line, boolean overflow) {
+            if (overflow) {
+                complete(number, null, HttpStatus.BAD_REQUEST, "Linha excede " + maxLineLength + " caracteres");
+                return;
+            }
+
+            AuthorizationRequest request;
+            try {
+                request = requestReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                complete(number, null, HttpStatus.BAD_REQUEST, "JSON inválido: " + e.getOriginalMessage());
+                return;
+            }
+
+            String externalId = request.getExternalId();
+            Set<ConstraintViolation<AuthorizationRequest>> violations = validator.validate(request);
+
+            if (!violations.isEmpty()) {
+                String error = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+                complete(number, externalId, HttpStatus.BAD_REQUEST, error);
+                return;
+            }
+
+            try {
+                authorizationService.authorize(request).whenComplete((response, e) -> decided(number, externalId, response, e));
+
+            } catch (AdmissionRejectedException e) {
+                HttpStatus status = AdmissionControl.REASON_IN_FLIGHT.equals(e.getReason()) ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+                complete(number, externalId, status, e.getMessage());
+
+            } catch (StoreCapacityExceededException e) {
+                complete(number, externalId, HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+
+            } catch (RuntimeException e) {
+                log.error("Erro ao processar autorização {} do lote", externalId, e);
+                complete(number, externalId, HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao processar autorização");
+            }
+        }
+
+        private void decided(long number, String externalId, AuthorizationResponse response, Throwable e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+
+            if (cause == null) {
+                results.offer(new BulkAuthorizationResult(number, externalId, HttpStatus.OK.value(), response, null));
+            } else if (cause instanceof TimeoutException) {
+                complete(number, externalId, HttpStatus.ACCEPTED, "Decisão ainda não recebida");
+            } else if (cause instanceof PublishNotConfirmedException) {
+                complete(number, externalId, HttpStatus.SERVICE_UNAVAILABLE, cause.getMessage());
+            } else {
+                log.error("Erro ao aguardar decisão da autorização {} do lote", externalId, cause);
+                complete(number, externalId, HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao processar autorização");
+            }
+        }
+
+        private void complete(long number, String externalId, HttpStatus status, String error) {
+            results.offer(new BulkAuthorizationResult(number, externalId, status.value(), null, error));
+        }
+
+        private boolean acquirePermit() throws InterruptedException {
+            while (!permits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                if (cancelled) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void awaitReader() {
+            try {
+                readerDone.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Leitor de linhas com tamanho máximo: o excedente de uma linha longa é descartado em vez de acumulado.
+     */
+    private static final class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final StringBuilder buffer = new StringBuilder();
+        private long number;
+        private boolean overflow;
+
+        private LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        String next() throws IOException {
+            buffer.setLength(0);
+            overflow = false;
+
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (c == '\n') {
+                    number++;
+                    return buffer.toString();
+                }
+
+                if (buffer.length() < maxLength) {
+                    buffer.append((char) c);
+                } else {
+                    overflow = true;
+                }
+            }
+
+            if (buffer.length() == 0 && !overflow) {
+                return null;
+            }
+
+            number++;
+            return buffer.toString();
+        }
+
+        long number() {
+            return number;
+        }
+
+        boolean overflow() {
+            return overflow;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.destaxa.api.service;
+
+import com.destaxa.api.admission.AdmissionControl;
+import com.destaxa.api.dto.AuthorizationRequest;
+import com.destaxa.api.dto.AuthorizationResponse;
+import com.destaxa.api.store.AuthorizationResultStore;
+import com.destaxa.api.stream.AuthorizationStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Camada de idempotência na frente do {@link PaymentService}, indexada pelo {@code externalId}.
+ * <p>
+ * Uma requisição repetida enquanto a original está em andamento é associada à mesma autorização pendente;
+ * uma requisição repetida depois da decisão recebe a decisão guardada no {@link AuthorizationResultStore}, sem
+ * nova publicação no RabbitMQ.
+ */
+@Slf4j
+@Service
+public class IdempotentAuthorizationService {
+
+    private final PaymentService paymentService;
+    private final AdmissionControl admissionControl;
+    private final Map<String, CompletableFuture<AuthorizationResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AuthorizationResultStore resultStore;
+    private final AuthorizationStream authorizationStream;
+    private final long inFlightTimeout;
+    private final Counter coalescedCounter;
+    private final Counter cachedCounter;
+
+    public IdempotentAuthorizationService(PaymentService paymentService, AdmissionControl admissionControl,
+        AuthorizationResultStore resultStore, AuthorizationStream authorizationStream, MeterRegistry meterRegistry,
+        @Value("${authorization.pending.callbacks.ttl}") long inFlightTimeout) {
+        this.paymentService = paymentService;
+        this.admissionControl = admissionControl;
+        this.resultStore = resultStore;
+        this.authorizationStream = authorizationStream;
+        this.inFlightTimeout = inFlightTimeout;
+
+        this.coalescedCounter = Counter.builder("authorization.idempotency.hits")
+            .tag("state", "in-flight")
+            .register(meterRegistry);
+        this.cachedCounter = Counter.builder("authorization.idempotency.hits")
+            .tag("state", "completed")
+            .register(meterRegistry);
+
+        Gauge.builder("authorization.idempotency.size", inFlight, Map::size)
+            .tag("state", "in-flight")
+            .register(meterRegistry);
+    }
+
+    public CompletableFuture<AuthorizationResponse> authorize(AuthorizationRequest request) {
+        String externalId = request.getExternalId();
+
+        AuthorizationResponse cached = resultStore.get(externalId);
+        if (cached != null) {
+            cachedCounter.increment();
+            log.info("Autorização {} já decidida, devolvendo decisão guardada", externalId);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<AuthorizationResponse> pending = new CompletableFuture<>();
+        CompletableFuture<AuthorizationResponse> existing = inFlight.putIfAbsent(externalId, pending);
+
+        if (existing != null) {
+            coalescedCounter.increment();
+            log.info("Autorização {} já em andamento, requisição associada à pendente", externalId);
+            return existing.copy();
+        }
+
+        // a decisão pode ter sido guardada, e a pendente removida, entre a consulta acima e o putIfAbsent
+        cached = resultStore.get(externalId);
+        if (cached != null) {
+            inFlight.remove(externalId, pending);
+            pending.complete(cached);
+            cachedCounter.increment();
+            log.info("Autorização {} já decidida, devolvendo decisão guardada", externalId);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        try {
+            admissionControl.acquire();
+        } catch (RuntimeException e) {
+            inFlight.remove(externalId, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+
+        authorizationStream.track(externalId, request.getMerchantId());
+
+        long admittedAt = System.nanoTime();
+        pending.orTimeout(inFlightTimeout, TimeUnit.MILLISECONDS).whenComplete((response, e) -> {
+            // sem as expirações, a média ficaria parada na última latência saudável justamente quando o autorizador
+            // deixa de responder
+            if (e == null || e instanceof TimeoutException) {
+                admissionControl.recordLatency(System.nanoTime() - admittedAt);
+            }
+            admissionControl.release();
+            inFlight.remove(externalId, pending);
+        });
+
+        try {
+            paymentService.authorize(request).whenComplete((response, e) -> {
+                if (e != null) {
+                    pending.completeExceptionally(e);
+                } else {
+                    pending.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        }
+
+        return pending.copy();
+    }
+}
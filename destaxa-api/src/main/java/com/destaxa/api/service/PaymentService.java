@@ -3,59 +3,111 @@ package com.destaxa.api.service;
 import com.destaxa.api.dto.AuthorizationRequest;
 import com.destaxa.api.dto.AuthorizationResponse;
 import com.destaxa.api.exception.AuthorizationException;
+import com.destaxa.api.exception.PublishNotConfirmedException;
+import com.destaxa.api.exception.StoreCapacityExceededException;
 import com.destaxa.api.listener.ResponseListener;
+import com.destaxa.api.store.InFlightStanIndex;
+import com.destaxa.api.transport.AuthorizationTransport;
 import com.destaxa.api.util.ISO8583Processor;
-import lombok.RequiredArgsConstructor;
+import com.destaxa.api.util.StanAllocator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PaymentService {
 
+    private static final int STAN_ALLOCATION_ATTEMPTS = 8;
+
     private final ISO8583Processor iso8583Processor;
-    private final RabbitTemplate rabbitTemplate;
+    private final AuthorizationTransport authorizationTransport;
     private final ResponseListener responseListener;
+    private final StanAllocator stanAllocator;
+    private final InFlightStanIndex inFlightStanIndex;
+    private final Timer roundTripTimer;
 
-    @Value("${spring.rabbitmq.listener.authorization-queue.queue-name}")
-    private String autorizacaoQueue;
+    public PaymentService(ISO8583Processor iso8583Processor, AuthorizationTransport authorizationTransport,
+        ResponseListener responseListener, StanAllocator stanAllocator, InFlightStanIndex inFlightStanIndex,
+        MeterRegistry meterRegistry) {
+        this.iso8583Processor = iso8583Processor;
+        this.authorizationTransport = authorizationTransport;
+        this.responseListener = responseListener;
+        this.stanAllocator = stanAllocator;
+        this.inFlightStanIndex = inFlightStanIndex;
 
-    public void authorize(AuthorizationRequest request) {
-        try {
-            String isoMessage = iso8583Processor.toIso8583(request);
-            log.debug("Mensagem ISO8583: {}", isoMessage);
-
-            String externalId = request.getExternalId();
+        this.roundTripTimer = Timer.builder("authorization.roundtrip")
+            .description("Tempo entre a publicação da requisição e o recebimento da resposta do autorizador")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
 
-            CompletableFuture<AuthorizationResponse> future = new CompletableFuture<>();
-            responseListener.registerCallback(externalId, () -> {
-                try {
-                    AuthorizationResponse response = responseListener.getResponse(externalId);
+    public CompletableFuture<AuthorizationResponse> authorize(AuthorizationRequest request) {
+        String externalId = request.getExternalId();
+        int stan = 0;
 
-                    if (response != null) {
-                        future.complete(response);
-                        log.info("Notificação enviada para o cliente: {}", response);
+        try {
+            stan = allocateStan(externalId);
 
-                    } else {
-                        future.completeExceptionally(new RuntimeException("Resposta não encontrada para externalId: " + externalId));
-                    }
+            CompletableFuture<AuthorizationResponse> future = new CompletableFuture<>();
+            long publishedAt = System.nanoTime();
+            responseListener.registerCallback(externalId, response -> {
+                roundTripTimer.record(System.nanoTime() - publishedAt, TimeUnit.NANOSECONDS);
+                future.complete(response);
+                log.info("Notificação enviada para o cliente: {}", response);
+            });
 
-                } catch (Exception e) {
-                    future.completeExceptionally(new RuntimeException("Erro ao processar resposta", e));
+            String isoMessage = iso8583Processor.toIso8583(request, stan);
+            log.debug("Mensagem ISO8583: {}", isoMessage);
 
+            int publishedStan = stan;
+            authorizationTransport.send(externalId, isoMessage).whenComplete((ignored, e) -> {
+                if (e != null) {
+                    onPublishFailed(externalId, publishedStan, e, future);
                 }
             });
 
-            rabbitTemplate.convertAndSend(autorizacaoQueue, isoMessage);
+            return future;
+
+        } catch (StoreCapacityExceededException e) {
+            if (stan != 0) {
+                inFlightStanIndex.remove(stan);
+            }
+            throw e;
 
         } catch (Exception e) {
+            responseListener.removeCallback(externalId);
+            if (stan != 0) {
+                inFlightStanIndex.remove(stan);
+            }
             log.error("Erro ao processar autorização", e);
             throw new AuthorizationException("Erro ao processar autorização", e);
         }
     }
+
+    private int allocateStan(String externalId) {
+        for (int attempt = 0; attempt < STAN_ALLOCATION_ATTEMPTS; attempt++) {
+            int stan = stanAllocator.next();
+
+            if (inFlightStanIndex.putIfAbsent(stan, externalId)) {
+                return stan;
+            }
+        }
+
+        throw new StoreCapacityExceededException("Nenhum STAN livre após " + STAN_ALLOCATION_ATTEMPTS + " tentativas");
+    }
+
+    private void onPublishFailed(String externalId, int stan, Throwable error, CompletableFuture<AuthorizationResponse> future) {
+        log.error("Publicação da autorização {} não confirmada: {}", externalId, error.getMessage());
+        PublishNotConfirmedException failure = error instanceof PublishNotConfirmedException notConfirmed ? notConfirmed
+            : new PublishNotConfirmedException("Publicação não confirmada: " + error.getMessage());
+
+        responseListener.failPending(externalId, failure.getMessage());
+        inFlightStanIndex.remove(stan);
+        future.completeExceptionally(failure);
+    }
 }
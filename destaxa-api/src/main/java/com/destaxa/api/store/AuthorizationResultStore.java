@@ -0,0 +1,175 @@
+package com.destaxa.api.store;
+
+import com.destaxa.api.dto.AuthorizationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Resultados de autorização por {@code externalId}, preservados entre reinicializações da API.
+ * <p>
+ * Cada resultado é acrescentado a um {@link ResultLog} em disco e indexado em memória (posição no log e instante
+ * de gravação). As leituras passam primeiro por um cache ({@link ExpiringMap}) e, em caso de falta, leem o
+ * registro do log pela posição e repovoam o cache. Ler não remove o resultado: a mesma consulta pode ser repetida
+ * até o fim do TTL. Na inicialização o índice é reconstruído a partir dos segmentos existentes.
+ */
+@Slf4j
+@Component
+public class AuthorizationResultStore {
+
+    private final ResultLog resultLog;
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final ExpiringMap<AuthorizationResponse> cache;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Counter cacheHits;
+    private final Counter logReads;
+    private final Counter failures;
+
+    @Autowired
+    public AuthorizationResultStore(@Value("${authorization.results.directory}") Path directory,
+        @Value("${authorization.results.segment-size}") DataSize segmentSize,
+        @Value("${authorization.results.ttl}") long ttlMillis,
+        @Value("${authorization.results.fsync}") boolean fsync,
+        @Value("${authorization.results.cache.capacity}") int cacheCapacity,
+        @Value("${authorization.results.cache.ttl}") long cacheTtlMillis,
+        MeterRegistry meterRegistry) {
+        this(directory, segmentSize.toBytes(), ttlMillis, fsync, cacheCapacity, cacheTtlMillis, System::currentTimeMillis, meterRegistry);
+    }
+
+    AuthorizationResultStore(Path directory, long segmentSize, long ttlMillis, boolean fsync, int cacheCapacity,
+        long cacheTtlMillis, LongSupplier clock, MeterRegistry meterRegistry) {
+        if (ttlMillis <= 0 || segmentSize <= ResultCodec.HEADER_LENGTH + ResultCodec.MAX_PAYLOAD_LENGTH) {
+            throw new IllegalArgumentException("TTL ou tamanho de segmento do armazenamento de resultados inválidos");
+        }
+
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.cache = new ExpiringMap<>(cacheCapacity, Math.min(cacheTtlMillis, ttlMillis), OverflowPolicy.EVICT_OLDEST);
+
+        try {
+            this.resultLog = new ResultLog(directory, segmentSize, fsync);
+            rebuildIndex();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir armazenamento de resultados em " + directory, e);
+        }
+
+        this.cacheHits = Counter.builder("authorization.results.reads")
+            .tag("source", "cache")
+            .register(meterRegistry);
+        this.logReads = Counter.builder("authorization.results.reads")
+            .tag("source", "log")
+            .register(meterRegistry);
+        this.failures = Counter.builder("authorization.results.failures")
+            .description("Erros de leitura ou gravação no armazenamento de resultados")
+            .register(meterRegistry);
+        Gauge.builder("authorization.results.size", index, Map::size)
+            .register(meterRegistry);
+
+        log.info("Armazenamento de resultados aberto em {}: {} resultados", directory, index.size());
+    }
+
+    public void put(String externalId, AuthorizationResponse response) {
+        long now = clock.getAsLong();
+        cache.put(externalId, response);
+
+        try {
+            long position = resultLog.append(ResultCodec.encode(externalId, response, now), now);
+            index.put(externalId, new Location(position, now));
+
+            if (ResultLog.offsetOf(position) == 0) {
+                deleteExpiredSegments(now);
+            }
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            log.error("Erro ao gravar resultado da autorização {}: {}", externalId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return o resultado, ou {@code null} se não existe ou passou do TTL
+     */
+    public AuthorizationResponse get(String externalId) {
+        AuthorizationResponse cached = cache.get(externalId);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+
+        Location location = index.get(externalId);
+        if (location == null) {
+            return null;
+        }
+        if (isExpired(location, clock.getAsLong())) {
+            index.remove(externalId, location);
+            return null;
+        }
+
+        try {
+            ByteBuffer payload = resultLog.read(location.position());
+            AuthorizationResponse response = payload != null ? ResultCodec.decode(payload) : null;
+
+            if (response != null) {
+                logReads.increment();
+                cache.put(externalId, response);
+            }
+            return response;
+        } catch (IOException e) {
+            failures.increment();
+            log.warn("Erro ao ler resultado da autorização {}: {}", externalId, e.getMessage());
+            return null;
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        resultLog.close();
+    }
+
+    private void rebuildIndex() throws IOException {
+        long now = clock.getAsLong();
+
+        resultLog.replay((position, payload) -> {
+            long storedAt = ResultCodec.storedAt(payload);
+            if (now - storedAt < ttlMillis) {
+                index.put(ResultCodec.externalId(payload), new Location(position, storedAt));
+            }
+        });
+
+        deleteExpiredSegments(now);
+    }
+
+    /**
+     * Executado a cada troca de segmento: apaga os segmentos vencidos e retira do índice os resultados vencidos,
+     * que de outra forma só sairiam ao serem consultados.
+     */
+    private void deleteExpiredSegments(long now) {
+        resultLog.deleteExpired(now - ttlMillis);
+        index.values().removeIf(location -> isExpired(location, now));
+    }
+
+    private boolean isExpired(Location location, long now) {
+        return now - location.storedAt() >= ttlMillis;
+    }
+
+    private record Location(long position, long storedAt) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.destaxa.api.store;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Mapa limitado em capacidade com TTL por entrada.
+ * <p>
+ * As entradas são agrupadas em segmentos de tempo (uma roda de {@value #SEGMENTS_PER_TTL} segmentos por TTL).
+ * A expiração acontece de forma amortizada nas próprias operações de leitura/escrita e descarta apenas os
+ * segmentos vencidos, sem varrer o mapa inteiro.
+ */
+public class ExpiringMap<V> {
+
+    private static final int SEGMENTS_PER_TTL = 16;
+
+    private final Map<String, Entry<V>> index = new ConcurrentHashMap<>();
+    private final List<Set<Entry<V>>> wheel;
+    private final int capacity;
+    private final long tickNanos;
+    private final long ttlTicks;
+    private final OverflowPolicy overflowPolicy;
+    private final LongSupplier nanoClock;
+    private final AtomicLong expiredThroughTick;
+    private final AtomicBoolean expiring = new AtomicBoolean();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public ExpiringMap(int capacity, long ttlMillis, OverflowPolicy overflowPolicy) {
+        this(capacity, ttlMillis, overflowPolicy, System::nanoTime);
+    }
+
+    ExpiringMap(int capacity, long ttlMillis, OverflowPolicy overflowPolicy, LongSupplier nanoClock) {
+        if (capacity <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Capacidade e TTL devem ser positivos");
+        }
+
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.nanoClock = nanoClock;
+        this.tickNanos = Math.max(1, ttlMillis * 1_000_000L / SEGMENTS_PER_TTL);
+        this.ttlTicks = SEGMENTS_PER_TTL;
+        this.wheel = new ArrayList<>(SEGMENTS_PER_TTL + 2);
+
+        for (int i = 0; i < SEGMENTS_PER_TTL + 2; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+
+        this.expiredThroughTick = new AtomicLong(currentTick() - 1);
+    }
+
+    /**
+     * @return {@code false} quando o mapa está cheio e a política é {@link OverflowPolicy#REJECT}
+     */
+    public boolean put(String key, V value) {
+        long now = currentTick();
+        expire(now);
+
+        if (index.size() >= capacity && !index.containsKey(key)) {
+            if (overflowPolicy == OverflowPolicy.REJECT) {
+                return false;
+            }
+            evictOldest(now);
+        }
+
+        Entry<V> entry = new Entry<>(key, value, now);
+        segment(now).add(entry);
+
+        Entry<V> previous = index.put(key, entry);
+        if (previous != null) {
+            segment(previous.tick).remove(previous);
+        }
+
+        return true;
+    }
+
+    public V get(String key) {
+        long now = currentTick();
+        expire(now);
+
+        Entry<V> entry = index.get(key);
+        return entry == null || isExpired(entry, now) ? null : entry.value;
+    }
+
+    public V remove(String key) {
+        long now = currentTick();
+        expire(now);
+
+        Entry<V> entry = index.remove(key);
+        if (entry == null) {
+            return null;
+        }
+
+        segment(entry.tick).remove(entry);
+        return isExpired(entry, now) ? null : entry.value;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long expirations() {
+        return expirations.sum();
+    }
+
+    private void expire(long now) {
+        long target = now - ttlTicks - 1;
+
+        if (target <= expiredThroughTick.get() || !expiring.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            long from = Math.max(expiredThroughTick.get() + 1, target - wheel.size() + 1);
+
+            for (long tick = from; tick <= target; tick++) {
+                drain(tick);
+            }
+
+            expiredThroughTick.set(target);
+        } finally {
+            expiring.set(false);
+        }
+    }
+
+    private void drain(long tick) {
+        Iterator<Entry<V>> iterator = segment(tick).iterator();
+
+        while (iterator.hasNext()) {
+            Entry<V> entry = iterator.next();
+
+            if (entry.tick <= tick) {
+                iterator.remove();
+
+                if (index.remove(entry.key, entry)) {
+                    expirations.increment();
+                }
+            }
+        }
+    }
+
+    private void evictOldest(long now) {
+        for (long tick = expiredThroughTick.get() + 1; tick <= now; tick++) {
+            Iterator<Entry<V>> iterator = segment(tick).iterator();
+
+            while (iterator.hasNext()) {
+                Entry<V> entry = iterator.next();
+                iterator.remove();
+
+                if (index.remove(entry.key, entry)) {
+                    evictions.increment();
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return now - entry.tick > ttlTicks;
+    }
+
+    private Set<Entry<V>> segment(long tick) {
+        return wheel.get((int) Math.floorMod(tick, (long) wheel.size()));
+    }
+
+    private long currentTick() {
+        return nanoClock.getAsLong() / tickNanos;
+    }
+
+    private record Entry<V>(String key, V value, long tick) {
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.destaxa.api.store;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Índice das autorizações em andamento por STAN (campo 11), para que a resposta seja associada ao
+ * {@code externalId} da requisição sem criar chaves {@link String}.
+ * <p>
+ * As chaves ficam em tabelas de endereçamento aberto ({@code int[]}, sondagem linear), divididas em
+ * {@value #SEGMENTS} segmentos com lock próprio. Entradas vencidas podem ser sobrescritas por um novo STAN igual
+ * e são descartadas quando o segmento enche.
+ */
+@Component
+public class InFlightStanIndex {
+
+    private static final int SEGMENTS = 16;
+    private static final int EMPTY = 0;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public InFlightStanIndex(@Value("${authorization.stan.in-flight.capacity}") int capacity,
+        @Value("${authorization.stan.in-flight.ttl}") long ttlMillis) {
+        this(capacity, ttlMillis, System::nanoTime);
+    }
+
+    InFlightStanIndex(int capacity, long ttlMillis, LongSupplier nanoClock) {
+        if (capacity <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Capacidade e TTL devem ser positivos");
+        }
+
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.nanoClock = nanoClock;
+
+        int segmentCapacity = (capacity + SEGMENTS - 1) / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * @return {@code false} se o STAN já está em andamento ou se o segmento está cheio
+     */
+    public boolean putIfAbsent(int stan, String externalId) {
+        checkStan(stan);
+        int hash = hash(stan);
+        long now = nanoClock.getAsLong();
+
+        return segments[hash & (SEGMENTS - 1)].putIfAbsent(stan, hash >>> 4, externalId, now, now + ttlNanos);
+    }
+
+    public String get(int stan) {
+        int hash = hash(stan);
+        return segments[hash & (SEGMENTS - 1)].get(stan, hash >>> 4, nanoClock.getAsLong());
+    }
+
+    public String remove(int stan) {
+        int hash = hash(stan);
+        return segments[hash & (SEGMENTS - 1)].remove(stan, hash >>> 4, nanoClock.getAsLong());
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private static void checkStan(int stan) {
+        if (stan == EMPTY) {
+            throw new IllegalArgumentException("STAN 0 não é permitido");
+        }
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Segment {
+
+        private final int[] keys;
+        private final String[] values;
+        private final long[] deadlines;
+        private final int mask;
+        private final int maxSize;
+        private int size;
+
+        Segment(int maxSize) {
+            int tableSize = Integer.highestOneBit(Math.max(2, maxSize) * 2 - 1) << 1;
+
+            this.keys = new int[tableSize];
+            this.values = new String[tableSize];
+            this.deadlines = new long[tableSize];
+            this.mask = tableSize - 1;
+            this.maxSize = maxSize;
+        }
+
+        synchronized boolean putIfAbsent(int key, int hash, String value, long now, long deadline) {
+            if (size >= maxSize) {
+                purge(now);
+            }
+
+            int slot = hash & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    if (deadlines[slot] - now > 0) {
+                        return false;
+                    }
+                    values[slot] = value;
+                    deadlines[slot] = deadline;
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            if (size >= maxSize) {
+                return false;
+            }
+
+            keys[slot] = key;
+            values[slot] = value;
+            deadlines[slot] = deadline;
+            size++;
+            return true;
+        }
+
+        synchronized String get(int key, int hash, long now) {
+            int slot = find(key, hash);
+            return slot < 0 || deadlines[slot] - now <= 0 ? null : values[slot];
+        }
+
+        synchronized String remove(int key, int hash, long now) {
+            int slot = find(key, hash);
+            if (slot < 0) {
+                return null;
+            }
+
+            String value = deadlines[slot] - now > 0 ? values[slot] : null;
+            deleteAt(slot);
+            return value;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private int find(int key, int hash) {
+            int slot = hash & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void deleteAt(int slot) {
+            int gap = slot;
+            int next = slot;
+
+            while (true) {
+                next = (next + 1) & mask;
+                if (keys[next] == EMPTY) {
+                    break;
+                }
+
+                int home = (hash(keys[next]) >>> 4) & mask;
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    deadlines[gap] = deadlines[next];
+                    gap = next;
+                }
+            }
+
+            keys[gap] = EMPTY;
+            values[gap] = null;
+            deadlines[gap] = 0;
+            size--;
+        }
+
+        private void purge(long now) {
+            for (int slot = 0; slot <= mask; slot++) {
+                while (keys[slot] != EMPTY && deadlines[slot] - now <= 0) {
+                    deleteAt(slot);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.destaxa.api.store;
+
+public enum OverflowPolicy {
+    REJECT,
+    EVICT_OLDEST
+}
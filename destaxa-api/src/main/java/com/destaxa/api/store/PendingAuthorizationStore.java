@@ -0,0 +1,77 @@
+package com.destaxa.api.store;
+
+import com.destaxa.api.dto.AuthorizationResponse;
+import com.destaxa.api.exception.StoreCapacityExceededException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+@Component
+public class PendingAuthorizationStore {
+
+    private final ExpiringMap<Consumer<AuthorizationResponse>> callbacks;
+    private final ExpiringMap<String> failures;
+
+    public PendingAuthorizationStore(MeterRegistry meterRegistry,
+        @Value("${authorization.pending.callbacks.capacity}") int callbacksCapacity,
+        @Value("${authorization.pending.callbacks.ttl}") long callbacksTtl,
+        @Value("${authorization.pending.callbacks.overflow-policy}") OverflowPolicy callbacksOverflowPolicy) {
+        this.callbacks = new ExpiringMap<>(callbacksCapacity, callbacksTtl, callbacksOverflowPolicy);
+        this.failures = new ExpiringMap<>(callbacksCapacity, callbacksTtl, OverflowPolicy.EVICT_OLDEST);
+
+        registerMetrics(meterRegistry, "callbacks", callbacks);
+        registerMetrics(meterRegistry, "failures", failures);
+    }
+
+    /**
+     * Registra o callback de uma nova tentativa, descartando a falha de publicação de uma tentativa anterior.
+     */
+    public void registerCallback(String externalId, Consumer<AuthorizationResponse> callback) {
+        if (!callbacks.put(externalId, callback)) {
+            throw new StoreCapacityExceededException("Limite de autorizações pendentes atingido: " + callbacks.capacity());
+        }
+        failures.remove(externalId);
+    }
+
+    public Consumer<AuthorizationResponse> takeCallback(String externalId) {
+        return callbacks.remove(externalId);
+    }
+
+    public void removeCallback(String externalId) {
+        callbacks.remove(externalId);
+    }
+
+    /**
+     * Encerra a autorização pendente como não publicada. A falha fica disponível para as consultas por
+     * {@code externalId} até o fim do TTL dos callbacks ou até uma nova tentativa.
+     */
+    public void fail(String externalId, String reason) {
+        callbacks.remove(externalId);
+        failures.put(externalId, reason);
+    }
+
+    /**
+     * @return o motivo da falha de publicação, ou {@code null} quando a autorização não falhou
+     */
+    public String failure(String externalId) {
+        return failures.get(externalId);
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry, String store, ExpiringMap<?> map) {
+        Gauge.builder("authorization.pending.size", map, ExpiringMap::size)
+            .tag("store", store)
+            .register(meterRegistry);
+
+        FunctionCounter.builder("authorization.pending.evictions", map, ExpiringMap::evictions)
+            .tag("store", store)
+            .register(meterRegistry);
+
+        FunctionCounter.builder("authorization.pending.expirations", map, ExpiringMap::expirations)
+            .tag("store", store)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,116 @@
+package com.destaxa.api.store;
+
+import com.destaxa.api.dto.AuthorizationResponse;
+
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato dos registros do {@link ResultLog}: {@code [int tamanho][int crc32c][dados]}, em que os dados são o
+ * instante de gravação ({@code long}) seguido dos campos da resposta como texto UTF-8 com prefixo {@code short}
+ * de tamanho ({@code -1} para {@code null}). O {@code externalId} vem logo após o instante, para que a
+ * reconstrução do índice não precise decodificar o restante.
+ */
+final class ResultCodec {
+
+    static final int HEADER_LENGTH = 8;
+    static final int MAX_PAYLOAD_LENGTH = 4096;
+
+    private ResultCodec() {
+    }
+
+    static ByteBuffer encode(String externalId, AuthorizationResponse response, long storedAt) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + MAX_PAYLOAD_LENGTH);
+        buffer.position(HEADER_LENGTH);
+
+        buffer.putLong(storedAt);
+        putString(buffer, externalId);
+        putString(buffer, response.getPaymentId());
+        putString(buffer, response.getValue() != null ? response.getValue().toPlainString() : null);
+        putString(buffer, response.getResponseCode());
+        putString(buffer, response.getAuthorizationCode());
+        putString(buffer, response.getTransactionDate() != null ? response.getTransactionDate().toString() : null);
+        putString(buffer, response.getTransactionHour() != null ? response.getTransactionHour().toString() : null);
+
+        int payloadLength = buffer.position() - HEADER_LENGTH;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_LENGTH, payloadLength);
+
+        buffer.putInt(0, payloadLength);
+        buffer.putInt(4, (int) crc.getValue());
+        return buffer.flip();
+    }
+
+    /**
+     * @return {@code true} se o payload (posicionado após o cabeçalho) confere com o CRC do cabeçalho
+     */
+    static boolean verify(ByteBuffer payload, int expectedCrc) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue() == expectedCrc;
+    }
+
+    static long storedAt(ByteBuffer payload) {
+        return payload.getLong(payload.position());
+    }
+
+    static String externalId(ByteBuffer payload) {
+        ByteBuffer view = payload.duplicate();
+        view.position(view.position() + Long.BYTES);
+        return getString(view);
+    }
+
+    static AuthorizationResponse decode(ByteBuffer payload) {
+        try {
+            ByteBuffer view = payload.duplicate();
+            view.getLong();
+
+            String externalId = getString(view);
+            String paymentId = getString(view);
+            String value = getString(view);
+            String responseCode = getString(view);
+            String authorizationCode = getString(view);
+            String transactionDate = getString(view);
+            String transactionHour = getString(view);
+
+            AuthorizationResponse response = new AuthorizationResponse();
+            response.setExternalId(externalId);
+            response.setPaymentId(paymentId);
+            response.setValue(value != null ? new BigDecimal(value) : null);
+            response.setResponseCode(responseCode);
+            response.setAuthorizationCode(authorizationCode);
+            response.setTransactionDate(transactionDate != null ? LocalDate.parse(transactionDate) : null);
+            response.setTransactionHour(transactionHour != null ? LocalTime.parse(transactionHour) : null);
+            return response;
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,221 @@
+package com.destaxa.api.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Log de resultados em segmentos ({@code results-<seq>.log}) somente de acréscimo. Um registro é localizado por
+ * uma posição de 64 bits: o número do segmento nos 24 bits altos e o deslocamento no arquivo nos 40 bits baixos.
+ * <p>
+ * A cada inicialização um novo segmento é aberto para escrita; os anteriores só são lidos. Segmentos cujo
+ * registro mais recente passou do TTL são apagados quando o segmento ativo é trocado.
+ */
+@Slf4j
+final class ResultLog {
+
+    private static final String SEGMENT_PREFIX = "results-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int OFFSET_BITS = 40;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    interface RecordVisitor {
+        void visit(long position, ByteBuffer payload);
+    }
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean fsync;
+    private final Map<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private Segment active;
+    private long activeSequence;
+
+    ResultLog(Path directory, long segmentSize, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(ResultLog::isSegment).sorted().toList()) {
+                long sequence = sequenceOf(file);
+                segments.put(sequence, new Segment(FileChannel.open(file, StandardOpenOption.READ), file));
+                activeSequence = Math.max(activeSequence, sequence);
+            }
+        }
+    }
+
+    /**
+     * Percorre os registros válidos em ordem de gravação. A leitura de um segmento para no primeiro registro
+     * incompleto ou corrompido.
+     */
+    void replay(RecordVisitor visitor) throws IOException {
+        for (Map.Entry<Long, Segment> entry : segments.entrySet()) {
+            FileChannel channel = entry.getValue().channel;
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long newestRecordAt = 0;
+
+            while (data.remaining() >= ResultCodec.HEADER_LENGTH) {
+                int offset = data.position();
+                int length = data.getInt();
+                int crc = data.getInt();
+
+                if (length <= 0 || length > ResultCodec.MAX_PAYLOAD_LENGTH || length > data.remaining()) {
+                    break;
+                }
+
+                ByteBuffer payload = data.slice(data.position(), length);
+                if (!ResultCodec.verify(payload, crc)) {
+                    log.warn("Registro corrompido no segmento {} na posição {}", entry.getValue().file, offset);
+                    break;
+                }
+
+                newestRecordAt = Math.max(newestRecordAt, ResultCodec.storedAt(payload));
+                visitor.visit(position(entry.getKey(), offset), payload);
+                data.position(data.position() + length);
+            }
+
+            entry.getValue().newestRecordAt = newestRecordAt;
+        }
+    }
+
+    synchronized long append(ByteBuffer record, long now) throws IOException {
+        if (active == null || active.size + record.remaining() > segmentSize) {
+            roll(now);
+        }
+
+        long position = position(activeSequence, active.size);
+        while (record.hasRemaining()) {
+            active.size += active.channel.write(record, active.size);
+        }
+        if (fsync) {
+            active.channel.force(false);
+        }
+
+        active.newestRecordAt = now;
+        return position;
+    }
+
+    /**
+     * @return o payload do registro, ou {@code null} se o segmento já foi apagado ou o registro não confere
+     */
+    ByteBuffer read(long position) throws IOException {
+        Segment segment = segments.get(segmentOf(position));
+        if (segment == null) {
+            return null;
+        }
+
+        long offset = offsetOf(position);
+        ByteBuffer header = ByteBuffer.allocate(ResultCodec.HEADER_LENGTH);
+        readFully(segment.channel, header, offset);
+
+        int length = header.getInt(0);
+        if (length <= 0 || length > ResultCodec.MAX_PAYLOAD_LENGTH) {
+            return null;
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(segment.channel, payload, offset + ResultCodec.HEADER_LENGTH);
+        return ResultCodec.verify(payload, header.getInt(4)) ? payload : null;
+    }
+
+    /**
+     * Apaga os segmentos inativos cujo registro mais recente foi gravado até {@code expiredAt}.
+     */
+    synchronized void deleteExpired(long expiredAt) {
+        for (Map.Entry<Long, Segment> entry : segments.entrySet()) {
+            Segment segment = entry.getValue();
+            if (segment == active || segment.newestRecordAt > expiredAt) {
+                continue;
+            }
+
+            try {
+                segments.remove(entry.getKey());
+                segment.channel.close();
+                Files.deleteIfExists(segment.file);
+                log.info("Segmento de resultados expirado removido: {}", segment.file);
+            } catch (IOException e) {
+                log.warn("Erro ao remover segmento de resultados {}: {}", segment.file, e.getMessage());
+            }
+        }
+    }
+
+    static long segmentOf(long position) {
+        return position >>> OFFSET_BITS;
+    }
+
+    static long offsetOf(long position) {
+        return position & OFFSET_MASK;
+    }
+
+    synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            if (segment == active) {
+                segment.channel.force(false);
+            }
+            segment.channel.close();
+        }
+        segments.clear();
+        active = null;
+    }
+
+    private void roll(long now) throws IOException {
+        if (active != null) {
+            active.channel.force(false);
+        }
+
+        activeSequence++;
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, activeSequence, SEGMENT_SUFFIX));
+        active = new Segment(FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+            StandardOpenOption.WRITE), file);
+        active.newestRecordAt = now;
+        segments.put(activeSequence, active);
+    }
+
+    private static long position(long sequence, long offset) {
+        return (sequence << OFFSET_BITS) | offset;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Fim inesperado do segmento de resultados");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+
+        private final FileChannel channel;
+        private final Path file;
+        private long size;
+        private volatile long newestRecordAt;
+
+        Segment(FileChannel channel, Path file) throws IOException {
+            this.channel = channel;
+            this.file = file;
+            this.size = channel.size();
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package com.destaxa.api.stream;
+
+import com.destaxa.api.dto.AuthorizationResponse;
+import com.destaxa.api.exception.StoreCapacityExceededException;
+import com.destaxa.api.store.AuthorizationResultStore;
+import com.destaxa.api.store.ExpiringMap;
+import com.destaxa.api.store.OverflowPolicy;
+import com.destaxa.api.store.PendingAuthorizationStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assinaturas Server-Sent Events das decisões de autorização, por {@code externalId} ou por estabelecimento.
+ * <p>
+ * Cada assinatura é um {@link SseEmitter} sobre o modo assíncrono do servlet: nenhuma thread fica presa por
+ * assinante e, em memória, cada um custa o emitter, uma fila de saída e uma posição em um array imutável do índice,
+ * trocado atomicamente por chave. A thread que recebe a decisão do transporte só enfileira os eventos; a escrita nos
+ * sockets, que bloqueia quando o cliente não lê, é feita por {@code authorization.stream.senders} threads. Um
+ * assinante com mais de {@code authorization.stream.max-pending} eventos na fila é encerrado e descartado, para que
+ * um cliente lento não atrase os demais nem acumule memória. Uma escrita parada há mais de
+ * {@code authorization.stream.write-timeout} ms também descarta o assinante; como a thread de envio só volta quando o
+ * servlet desiste da escrita, o pool ganha uma thread no lugar dela, até {@code authorization.stream.max-stalled-senders}.
+ * <p>
+ * A assinatura por {@code externalId} termina na primeira decisão (ou imediatamente, se ela já estiver guardada);
+ * a assinatura por estabelecimento recebe as decisões até o fim do prazo ou a desconexão do cliente. Quando a
+ * publicação da requisição não é confirmada, os assinantes recebem um evento {@value #FAILURE_EVENT_NAME} no lugar
+ * da decisão.
+ */
+@Slf4j
+@Component
+public class AuthorizationStream {
+
+    public static final String EVENT_NAME = "authorization";
+    public static final String FAILURE_EVENT_NAME = "failure";
+
+    private static final Event COMPLETE = new Event(null, null, null);
+    private static final long IDLE = Long.MIN_VALUE;
+    private static final long STALLED = Long.MIN_VALUE + 1;
+
+    private final AuthorizationResultStore resultStore;
+    private final PendingAuthorizationStore pendingAuthorizationStore;
+    private final ExpiringMap<String> merchants;
+    private final Index byExternalId;
+    private final Index byMerchant;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService watchdog;
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    private final int senderCount;
+    private final int maxStalledSenders;
+    private final long writeTimeoutNanos;
+    private int stalledSenders;
+    private final int maxSubscribers;
+    private final int maxPending;
+    private final long timeout;
+
+    public AuthorizationStream(AuthorizationResultStore resultStore, PendingAuthorizationStore pendingAuthorizationStore,
+        MeterRegistry meterRegistry,
+        @Value("${authorization.stream.max-subscribers}") int maxSubscribers,
+        @Value("${authorization.stream.timeout}") long timeout,
+        @Value("${authorization.stream.senders}") int senders,
+        @Value("${authorization.stream.max-pending}") int maxPending,
+        @Value("${authorization.stream.write-timeout}") long writeTimeout,
+        @Value("${authorization.stream.max-stalled-senders}") int maxStalledSenders,
+        @Value("${authorization.pending.callbacks.capacity}") int merchantsCapacity,
+        @Value("${authorization.pending.callbacks.ttl}") long merchantsTtl) {
+        this.resultStore = resultStore;
+        this.pendingAuthorizationStore = pendingAuthorizationStore;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPending = maxPending;
+        this.timeout = timeout;
+        this.senderCount = senders;
+        this.maxStalledSenders = maxStalledSenders;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeout);
+        this.merchants = new ExpiringMap<>(merchantsCapacity, merchantsTtl, OverflowPolicy.EVICT_OLDEST);
+        this.byExternalId = new Index("external-id", meterRegistry);
+        this.byMerchant = new Index("merchant", meterRegistry);
+
+        // Cada assinante tem no máximo uma tarefa na fila, então a fila nunca passa do número de assinaturas
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senders, senders, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(maxSubscribers), runnable -> {
+                Thread thread = new Thread(runnable, "sse-sender-" + threadCount.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, writeTimeout / 2);
+        watchdog.scheduleWithFixedDelay(this::dropStalled, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Associa uma autorização em andamento ao estabelecimento, para que a decisão chegue aos assinantes dele.
+     */
+    public void track(String externalId, String merchantId) {
+        if (merchantId != null && !merchantId.isBlank()) {
+            merchants.put(externalId, merchantId);
+        }
+    }
+
+    public SseEmitter subscribeExternalId(String externalId) {
+        Subscriber subscriber = byExternalId.register(externalId);
+
+        AuthorizationResponse decided = resultStore.get(externalId);
+        if (decided != null && byExternalId.unregister(externalId, subscriber)) {
+            subscriber.offer(new Event(EVENT_NAME, externalId, decided));
+            subscriber.offer(COMPLETE);
+            return subscriber.emitter;
+        }
+
+        String failure = pendingAuthorizationStore.failure(externalId);
+        if (failure != null && byExternalId.unregister(externalId, subscriber)) {
+            subscriber.offer(new Event(FAILURE_EVENT_NAME, externalId, failureEvent(externalId, failure)));
+            subscriber.offer(COMPLETE);
+        }
+
+        return subscriber.emitter;
+    }
+
+    public SseEmitter subscribeMerchant(String merchantId) {
+        return byMerchant.register(merchantId).emitter;
+    }
+
+    /**
+     * Entrega a decisão aos assinantes do {@code externalId} e do estabelecimento associado a ele.
+     */
+    public void publish(AuthorizationResponse response) {
+        if (response.getExternalId() != null) {
+            deliver(new Event(EVENT_NAME, response.getExternalId(), response));
+        }
+    }
+
+    /**
+     * Avisa os assinantes do {@code externalId} e do estabelecimento de que a requisição não foi publicada.
+     */
+    public void publishFailure(String externalId, String reason) {
+        deliver(new Event(FAILURE_EVENT_NAME, externalId, failureEvent(externalId, reason)));
+    }
+
+    private void deliver(Event event) {
+        Subscriber[] owners = byExternalId.take(event.id());
+        if (owners != null) {
+            for (Subscriber subscriber : owners) {
+                subscriber.offer(event);
+                subscriber.offer(COMPLETE);
+            }
+        }
+
+        String merchantId = merchants.remove(event.id());
+        if (merchantId != null) {
+            Subscriber[] listeners = byMerchant.get(merchantId);
+            if (listeners != null) {
+                for (Subscriber subscriber : listeners) {
+                    subscriber.offer(event);
+                }
+            }
+        }
+    }
+
+    public int subscribers() {
+        return subscribers.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        watchdog.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void dropStalled() {
+        long now = System.nanoTime();
+
+        for (Subscriber subscriber : sending) {
+            long since = subscriber.sendingSince.get();
+            if (since != IDLE && since != STALLED && now - since > writeTimeoutNanos) {
+                boolean replaced = replaceSender();
+                if (subscriber.markStalled(since, replaced)) {
+                    subscriber.drop("escrita bloqueada há mais de " + TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos) + "ms");
+                } else if (replaced) {
+                    restoreSender();
+                }
+            }
+        }
+    }
+
+    /**
+     * Acrescenta uma thread ao pool no lugar de uma presa em uma escrita, até {@code maxStalledSenders}.
+     */
+    private boolean replaceSender() {
+        synchronized (senders) {
+            if (stalledSenders >= maxStalledSenders) {
+                return false;
+            }
+
+            stalledSenders++;
+            senders.setMaximumPoolSize(senderCount + stalledSenders);
+            senders.setCorePoolSize(senderCount + stalledSenders);
+            return true;
+        }
+    }
+
+    private void restoreSender() {
+        synchronized (senders) {
+            stalledSenders--;
+            senders.setCorePoolSize(senderCount + stalledSenders);
+            senders.setMaximumPoolSize(senderCount + stalledSenders);
+        }
+    }
+
+    private record Event(String name, String id, Object data) {
+    }
+
+    /**
+     * Um assinante e a sua fila de saída. Os eventos são escritos na ordem em que foram enfileirados, por no máximo
+     * uma thread de envio por vez.
+     */
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter = new SseEmitter(timeout);
+        private final Index index;
+        private final Queue<Event> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong sendingSince = new AtomicLong(IDLE);
+        private volatile boolean replaced;
+        private volatile boolean dropped;
+
+        private Subscriber(Index index) {
+            this.index = index;
+        }
+
+        void offer(Event event) {
+            if (dropped) {
+                return;
+            }
+            if (pending.incrementAndGet() > maxPending) {
+                drop("fila de saída cheia");
+                return;
+            }
+
+            outbox.add(event);
+            schedule();
+        }
+
+        @Override
+        public void run() {
+            Event event;
+            while (!dropped && (event = outbox.poll()) != null) {
+                pending.decrementAndGet();
+
+                if (event == COMPLETE) {
+                    emitter.complete();
+                } else {
+                    send(event);
+                }
+            }
+
+            scheduled.set(false);
+            if (!dropped && !outbox.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                senders.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                drop("envio recusado");
+            }
+        }
+
+        private void send(Event event) {
+            sendingSince.set(System.nanoTime());
+            sending.add(this);
+
+            try {
+                emitter.send(SseEmitter.event()
+                    .name(event.name())
+                    .id(event.id())
+                    .data(event.data(), MediaType.APPLICATION_JSON));
+                index.events.increment();
+            } catch (IOException e) {
+                log.debug("Assinante SSE desconectado: {}", e.getMessage());
+                emitter.completeWithError(e);
+            } catch (IllegalStateException e) {
+                log.debug("Assinatura SSE já encerrada: {}", e.getMessage());
+            } finally {
+                sending.remove(this);
+                if (sendingSince.getAndSet(IDLE) == STALLED && replaced) {
+                    restoreSender();
+                }
+            }
+        }
+
+        /**
+         * Marca a escrita iniciada em {@code since} como parada, se ela ainda não terminou.
+         *
+         * @param replaced se o pool ganhou uma thread no lugar desta, a ser devolvida quando a escrita terminar
+         */
+        private boolean markStalled(long since, boolean replaced) {
+            this.replaced = replaced;
+            return sendingSince.compareAndSet(since, STALLED);
+        }
+
+        private void drop(String reason) {
+            dropped = true;
+            outbox.clear();
+            index.dropped.increment();
+            log.warn("Assinante SSE descartado: {}", reason);
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Assinantes por chave. Cada valor é um array imutável substituído dentro do {@code compute} do mapa, o que
+     * serializa as alterações de uma mesma chave sem bloquear as demais.
+     */
+    private final class Index {
+
+        private final Map<String, Subscriber[]> subscribersByKey = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final Counter events;
+        private final Counter dropped;
+
+        private Index(String type, MeterRegistry meterRegistry) {
+            Gauge.builder("authorization.stream.subscribers", size, AtomicInteger::get)
+                .tag("type", type)
+                .register(meterRegistry);
+            this.events = Counter.builder("authorization.stream.events")
+                .tag("type", type)
+                .register(meterRegistry);
+            this.dropped = Counter.builder("authorization.stream.dropped")
+                .description("Assinantes encerrados por não acompanharem os eventos")
+                .tag("type", type)
+                .register(meterRegistry);
+        }
+
+        Subscriber register(String key) {
+            if (subscribers.incrementAndGet() > maxSubscribers) {
+                subscribers.decrementAndGet();
+                throw new StoreCapacityExceededException("Limite de assinaturas SSE atingido: " + maxSubscribers);
+            }
+
+            Subscriber subscriber = new Subscriber(this);
+            subscribersByKey.compute(key, (k, current) -> append(current, subscriber));
+            size.incrementAndGet();
+
+            SseEmitter emitter = subscriber.emitter;
+            emitter.onTimeout(emitter::complete);
+            emitter.onCompletion(() -> unregister(key, subscriber));
+            emitter.onError(e -> unregister(key, subscriber));
+            return subscriber;
+        }
+
+        boolean unregister(String key, Subscriber subscriber) {
+            boolean[] removed = new boolean[1];
+
+            subscribersByKey.computeIfPresent(key, (k, current) -> {
+                Subscriber[] remaining = remove(current, subscriber);
+                removed[0] = remaining != current;
+                return remaining;
+            });
+
+            if (removed[0]) {
+                released(1);
+            }
+            return removed[0];
+        }
+
+        Subscriber[] take(String key) {
+            Subscriber[] taken = subscribersByKey.remove(key);
+            if (taken != null) {
+                released(taken.length);
+            }
+            return taken;
+        }
+
+        Subscriber[] get(String key) {
+            return subscribersByKey.get(key);
+        }
+
+        private void released(int count) {
+            size.addAndGet(-count);
+            subscribers.addAndGet(-count);
+        }
+    }
+
+    private static Map<String, String> failureEvent(String externalId, String reason) {
+        return Map.of("externalId", externalId, "message", reason);
+    }
+
+    private static Subscriber[] append(Subscriber[] current, Subscriber subscriber) {
+        if (current == null) {
+            return new Subscriber[]{subscriber};
+        }
+
+        Subscriber[] copy = new Subscriber[current.length + 1];
+        System.arraycopy(current, 0, copy, 0, current.length);
+        copy[current.length] = subscriber;
+        return copy;
+    }
+
+    /**
+     * @return o próprio array quando o assinante não está nele, ou {@code null} quando era o único
+     */
+    private static Subscriber[] remove(Subscriber[] current, Subscriber subscriber) {
+        int position = -1;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscriber) {
+                position = i;
+                break;
+            }
+        }
+
+        if (position < 0) {
+            return current;
+        }
+        if (current.length == 1) {
+            return null;
+        }
+
+        Subscriber[] copy = new Subscriber[current.length - 1];
+        System.arraycopy(current, 0, copy, 0, position);
+        System.arraycopy(current, position + 1, copy, position, current.length - position - 1);
+        return copy;
+    }
+}
@@ -0,0 +1,18 @@
+package com.destaxa.api.transport;
+
+import com.destaxa.api.exception.PublishNotConfirmedException;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Envio das requisições ISO8583 ao autorizador. As respostas voltam pelo
+ * {@link com.destaxa.api.listener.ResponseListener}, associadas pelo STAN ou pelo correlation id.
+ */
+public interface AuthorizationTransport {
+
+    /**
+     * @return futuro completado quando o transporte assume a entrega da mensagem, ou completado com
+     * {@link PublishNotConfirmedException} quando ela é recusada
+     */
+    CompletableFuture<Void> send(String correlationId, String isoMessage);
+}
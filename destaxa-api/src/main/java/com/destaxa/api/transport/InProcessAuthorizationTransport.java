@@ -0,0 +1,55 @@
+package com.destaxa.api.transport;
+
+import com.destaxa.api.exception.PublishNotConfirmedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiPredicate;
+
+/**
+ * Entrega as requisições diretamente à fila de entrada do autorizador na mesma JVM, sem broker.
+ * <p>
+ * O destino é o bean {@value #PEER_BEAN}, registrado pelo destaxa-standalone, que recebe o correlation id e a
+ * mensagem ISO8583 codificada em ISO-8859-1, como no corpo da mensagem AMQP, e retorna {@code false} quando a fila
+ * do autorizador está cheia; nesse caso a requisição falha como uma publicação rejeitada pelo broker.
+ */
+@Component
+@ConditionalOnProperty(name = "authorization.transport.type", havingValue = "IN_PROCESS")
+public class InProcessAuthorizationTransport implements AuthorizationTransport {
+
+    public static final String PEER_BEAN = "inProcessPeer";
+
+    private final BiPredicate<String, byte[]> peer;
+    private final Counter rejectedCounter;
+
+    public InProcessAuthorizationTransport(@Qualifier(PEER_BEAN) ObjectProvider<BiPredicate<String, byte[]>> peer,
+        MeterRegistry meterRegistry) {
+        this.peer = peer.getIfAvailable();
+
+        if (this.peer == null) {
+            throw new IllegalStateException("Transporte in-process requer o autorizador na mesma JVM (bean " + PEER_BEAN
+                + "), iniciado pelo destaxa-standalone");
+        }
+
+        this.rejectedCounter = Counter.builder("authorization.inprocess.rejected")
+            .description("Mensagens recusadas por fila in-process cheia")
+            .tag("ring", "requests")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<Void> send(String correlationId, String isoMessage) {
+        if (peer.test(correlationId, isoMessage.getBytes(StandardCharsets.ISO_8859_1))) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        rejectedCounter.increment();
+        return CompletableFuture.failedFuture(new PublishNotConfirmedException("Fila in-process do autorizador cheia"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.destaxa.api.transport;
+
+import com.destaxa.api.listener.ResponseListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fila de entrada das respostas do autorizador no transporte in-process. O autorizador enfileira por
+ * {@link #accept}; {@code consumers} threads retiram as respostas e as entregam ao {@link ResponseListener}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "authorization.transport.type", havingValue = "IN_PROCESS")
+public class InProcessResponseListener implements SmartLifecycle {
+
+    private final ResponseListener responseListener;
+    private final MessageRing responses;
+    private final int consumers;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public InProcessResponseListener(ResponseListener responseListener, MeterRegistry meterRegistry,
+        @Value("${authorization.transport.in-process.capacity}") int capacity,
+        @Value("${authorization.transport.in-process.consumers}") int consumers) {
+        if (consumers <= 0) {
+            throw new IllegalArgumentException("Quantidade de consumidores in-process deve ser positiva");
+        }
+
+        this.responseListener = responseListener;
+        this.responses = new MessageRing(capacity);
+        this.consumers = consumers;
+
+        Gauge.builder("authorization.inprocess.queue.size", responses, MessageRing::size)
+            .tag("ring", "responses")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Enfileira uma resposta codificada em ISO-8859-1.
+     *
+     * @return {@code false} quando a fila está cheia
+     */
+    public boolean accept(String correlationId, byte[] isoMessage) {
+        return responses.offer(correlationId, isoMessage);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+
+        for (int i = 0; i < consumers; i++) {
+            Thread thread = new Thread(() -> responses.consume(this::isRunning, this::deliver), "inprocess-responses-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+
+        log.info("Transporte in-process: {} consumidores de respostas, fila de {} posições", consumers, responses.capacity());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+
+        for (Thread thread : threads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        threads.clear();
+
+        if (responses.size() > 0) {
+            log.warn("{} respostas descartadas da fila in-process no encerramento", responses.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void deliver(String correlationId, byte[] isoMessage) {
+        try {
+            responseListener.onResponse(isoMessage, correlationId);
+        } catch (RuntimeException e) {
+            log.error("Erro ao processar resposta recebida pelo transporte in-process", e);
+        }
+    }
+}
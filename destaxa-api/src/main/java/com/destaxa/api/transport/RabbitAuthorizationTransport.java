@@ -0,0 +1,98 @@
+package com.destaxa.api.transport;
+
+import com.destaxa.api.exception.PublishNotConfirmedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica as requisições na fila do autorizador, com a fila de resposta exclusiva desta instância no
+ * {@code reply-to}, e completa o futuro com a confirmação do broker.
+ */
+@Component
+@ConditionalOnProperty(name = "authorization.transport.type", havingValue = "RABBITMQ", matchIfMissing = true)
+public class RabbitAuthorizationTransport implements AuthorizationTransport {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final Queue replyQueue;
+    private final String autorizacaoQueue;
+    private final Timer confirmAckTimer;
+    private final Timer confirmNackTimer;
+    private final Timer confirmReturnedTimer;
+    private final Timer publishTimer;
+
+    public RabbitAuthorizationTransport(RabbitTemplate rabbitTemplate, Queue replyQueue, MeterRegistry meterRegistry,
+        @Value("${spring.rabbitmq.listener.authorization-queue.queue-name}") String autorizacaoQueue) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.replyQueue = replyQueue;
+        this.autorizacaoQueue = autorizacaoQueue;
+        this.confirmAckTimer = confirmTimer(meterRegistry, "ack");
+        this.confirmNackTimer = confirmTimer(meterRegistry, "nack");
+        this.confirmReturnedTimer = confirmTimer(meterRegistry, "returned");
+
+        this.publishTimer = Timer.builder("rabbitmq.publish")
+            .description("Publicação de mensagens no RabbitMQ")
+            .tag("queue", autorizacaoQueue)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<Void> send(String correlationId, String isoMessage) {
+        CompletableFuture<Void> confirmed = new CompletableFuture<>();
+        long publishedAt = System.nanoTime();
+
+        CorrelationData correlationData = new CorrelationData(correlationId);
+        correlationData.getFuture().whenComplete((confirm, e) -> onConfirm(correlationData, confirm, e, publishedAt, confirmed));
+
+        rabbitTemplate.convertAndSend(autorizacaoQueue, isoMessage, message -> {
+            message.getMessageProperties().setReplyTo(replyQueue.getName());
+            message.getMessageProperties().setCorrelationId(correlationId);
+            return message;
+        }, correlationData);
+        publishTimer.record(System.nanoTime() - publishedAt, TimeUnit.NANOSECONDS);
+
+        return confirmed;
+    }
+
+    private void onConfirm(CorrelationData correlationData, CorrelationData.Confirm confirm, Throwable error,
+        long publishedAt, CompletableFuture<Void> confirmed) {
+        long elapsed = System.nanoTime() - publishedAt;
+        ReturnedMessage returned = correlationData.getReturned();
+        String failure;
+
+        if (error != null) {
+            confirmNackTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            failure = error.getMessage();
+        } else if (!confirm.isAck()) {
+            confirmNackTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            failure = "nack do broker: " + confirm.getReason();
+        } else if (returned != null) {
+            confirmReturnedTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            failure = "mensagem não roteada: " + returned.getReplyText();
+        } else {
+            confirmAckTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            confirmed.complete(null);
+            return;
+        }
+
+        confirmed.completeExceptionally(new PublishNotConfirmedException("Publicação não confirmada pelo broker: " + failure));
+    }
+
+    private static Timer confirmTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("authorization.publish.confirm")
+            .description("Tempo entre a publicação da requisição e a confirmação do broker")
+            .tag("result", result)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,15 @@
+package com.destaxa.api.transport;
+
+/**
+ * Transporte das mensagens ISO8583 entre a API e o autorizador ({@code authorization.transport.type}).
+ */
+public enum TransportType {
+    /**
+     * Filas do RabbitMQ, com a API e o autorizador em processos separados.
+     */
+    RABBITMQ,
+    /**
+     * Filas circulares em memória, com a API e o autorizador na mesma JVM (módulo destaxa-standalone).
+     */
+    IN_PROCESS
+}
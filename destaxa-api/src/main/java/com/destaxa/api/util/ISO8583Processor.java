@@ -4,6 +4,9 @@ import com.destaxa.api.dto.AuthorizationRequest;
 import com.destaxa.api.dto.AuthorizationResponse;
 import com.destaxa.api.exception.ISOFormatException;
 import com.destaxa.api.util.formatter.AmountFormatter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.jpos.iso.ISOException;
@@ -16,6 +19,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Getter
@@ -52,31 +56,63 @@ public class ISO8583Processor {
 
     private final GenericPackager packager;
     private final AmountFormatter amountFormatter;
+    private final IsoFieldLayout fieldLayout;
 
-    public ISO8583Processor(GenericPackager packager, AmountFormatter amountFormatter) {
+    @Getter(AccessLevel.NONE)
+    private final Timer packTimer;
+    @Getter(AccessLevel.NONE)
+    private final Timer unpackTimer;
+    @Getter(AccessLevel.NONE)
+    private final Timer decodeTimer;
+
+    public ISO8583Processor(GenericPackager packager, AmountFormatter amountFormatter, MeterRegistry meterRegistry) {
         this.packager = packager;
         this.amountFormatter = amountFormatter;
+        this.fieldLayout = IsoFieldLayout.from(packager);
+        this.packTimer = stageTimer(meterRegistry, "iso8583.pack", "Empacotamento de mensagens ISO8583");
+        this.unpackTimer = stageTimer(meterRegistry, "iso8583.unpack", "Leitura do bitmap e localização dos campos ISO8583");
+        this.decodeTimer = stageTimer(meterRegistry, "iso8583.decode", "Conversão dos campos ISO8583 para o modelo");
     }
 
     public AuthorizationResponse fromIso8583(String isoMessage) throws ISOFormatException {
+        return fromIso8583(isoMessage.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    public AuthorizationResponse fromIso8583(byte[] isoMessage) throws ISOFormatException {
+        return fromIso8583(view(isoMessage));
+    }
+
+    public AuthorizationResponse fromIso8583(IsoMessageView view) throws ISOFormatException {
+        validateMTI(view, MTI_AUTHORIZATION_RESPONSE);
+
+        long start = System.nanoTime();
         try {
-            ISOMsg isoMsg = unpackIsoMessage(isoMessage, MTI_AUTHORIZATION_RESPONSE);
-            return extractAuthorizationResponseFromIsoMsg(isoMsg);
-        } catch (ISOException e) {
-            throw new ISOFormatException("Erro ao processar mensagem ISO8583: " + e.getMessage(), e);
+            return extractAuthorizationResponse(view);
+        } finally {
+            decodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public IsoMessageView view(byte[] isoMessage) throws ISOFormatException {
+        long start = System.nanoTime();
+        try {
+            return IsoMessageView.wrap(isoMessage, fieldLayout);
+        } finally {
+            unpackTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
-    public String toIso8583(AuthorizationRequest request) throws ISOException {
+    public String toIso8583(AuthorizationRequest request, int stan) throws ISOException {
+        long start = System.nanoTime();
         try {
             LocalDateTime now = LocalDateTime.now();
             ISOMsg isoMsg = buildISOMsg(MTI_AUTHORIZATION_REQUEST);
 
             setField(isoMsg, FIELD_CARD_NUMBER, request.getCardNumber());
             setField(isoMsg, FIELD_PROCESSING_CODE, PROCESSING_CODE_CASH_CREDIT);
-            setField(isoMsg, FIELD_TRANSACTION_AMOUNT, amountFormatter.formatDecimal(request.getValue()));
+            setField(isoMsg, FIELD_TRANSACTION_AMOUNT, amountFormatter.format(Money.of(request.getValue())));
             setField(isoMsg, FIELD_TRANSMISSION_DATE_TIME, now.format(DATE_TIME_FORMATTER));
-            setField(isoMsg, FIELD_NSU, generateStan());
+            setField(isoMsg, FIELD_NSU, String.valueOf(stan));
             setField(isoMsg, FIELD_LOCAL_TRANSACTION_TIME, now.format(ISO_TIME_FORMATTER));
             setField(isoMsg, FIELD_LOCAL_TRANSACTION_DATE, now.format(ISO_DATE_FORMATTER));
             setField(isoMsg, FIELD_EXPIRATION_DATE, String.format("%s%s", amountFormatter.formatInteger(request.getExpYear()), amountFormatter.formatInteger(request.getExpMonth())));
@@ -90,34 +126,21 @@ public class ISO8583Processor {
         } catch (ISOFormatException e) {
             log.error("Erro ao formatar a resposta ISO8583", e);
             throw new ISOException("Erro ao construir mensagem ISO8583 de resposta: " + e.getMessage(), e);
+        } finally {
+            packTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
-    private ISOMsg unpackIsoMessage(String isoMessage, String expectedMTI) throws ISOException, ISOFormatException {
-        ISOMsg isoMsg = new ISOMsg();
-        isoMsg.setPackager(packager);
-        isoMsg.setHeader(ISO_HEADER.getBytes(StandardCharsets.ISO_8859_1));
-
-        try {
-            isoMsg.unpack(isoMessage.getBytes(StandardCharsets.ISO_8859_1));
-        } catch (ISOException e) {
-            throw new ISOFormatException("Formato da mensagem ISO8583 inválido", e);
-        }
-
-        validateMTI(isoMsg, expectedMTI);
-        return isoMsg;
-    }
-
-    private String getField(ISOMsg isoMsg, int fieldNumber) throws ISOFormatException {
-        if (isoMsg.hasField(fieldNumber)) {
-            return isoMsg.getString(fieldNumber);
+    private String getField(IsoMessageView view, int fieldNumber) throws ISOFormatException {
+        if (view.hasField(fieldNumber)) {
+            return view.getString(fieldNumber);
         } else {
             throw new ISOFormatException("Campo obrigatório " + fieldNumber + " não encontrado na mensagem ISO8583.");
         }
     }
 
-    private Optional<String> getOptionalField(ISOMsg isoMsg, int fieldNumber) {
-        return isoMsg.hasField(fieldNumber) ? Optional.of(isoMsg.getString(fieldNumber)) : Optional.empty();
+    private Optional<String> getOptionalField(IsoMessageView view, int fieldNumber) {
+        return Optional.ofNullable(view.getString(fieldNumber));
     }
 
     private void setField(ISOMsg isoMsg, int fieldNumber, String value) throws ISOFormatException {
@@ -130,26 +153,25 @@ public class ISO8583Processor {
         }
     }
 
-    private AuthorizationResponse extractAuthorizationResponseFromIsoMsg(ISOMsg isoMsg) throws ISOFormatException {
+    private AuthorizationResponse extractAuthorizationResponse(IsoMessageView view) throws ISOFormatException {
         AuthorizationResponse response = new AuthorizationResponse();
         LocalDateTime now = LocalDateTime.now();
 
-        response.setPaymentId(getField(isoMsg, FIELD_PAYMENT_ID));
-        response.setValue(amountFormatter.parseDecimal(getOptionalField(isoMsg, FIELD_TRANSACTION_AMOUNT).orElse(null)));
-        response.setResponseCode(getField(isoMsg, FIELD_RESPONSE_CODE));
-        response.setAuthorizationCode(getOptionalField(isoMsg, FIELD_AUTHORIZATION_ID_RESPONSE).orElse(null));
+        response.setPaymentId(getField(view, FIELD_PAYMENT_ID));
+        response.setValue(view.hasField(FIELD_TRANSACTION_AMOUNT) ? Money.ofMinorUnits(view.getLong(FIELD_TRANSACTION_AMOUNT)).toBigDecimal() : null);
+        response.setResponseCode(getField(view, FIELD_RESPONSE_CODE));
+        response.setAuthorizationCode(getOptionalField(view, FIELD_AUTHORIZATION_ID_RESPONSE).orElse(null));
 
         response.setTransactionHour(now.toLocalTime());
         response.setTransactionDate(now.toLocalDate());
-        response.setExternalId(getField(isoMsg, FIELD_EXTERNAL_ID));
+        response.setExternalId(getField(view, FIELD_EXTERNAL_ID));
 
         return response;
     }
 
-    private void validateMTI(ISOMsg isoMsg, String expectedMTI) throws ISOFormatException, ISOException {
-        String mti = isoMsg.getMTI();
-        if (!mti.equals(expectedMTI)) {
-            String errorMessage = String.format("MTI inválido. Esperado '%s', recebido '%s'", expectedMTI, mti);
+    private void validateMTI(IsoMessageView view, String expectedMTI) throws ISOFormatException {
+        if (!view.isMTI(expectedMTI)) {
+            String errorMessage = String.format("MTI inválido. Esperado '%s', recebido '%s'", expectedMTI, view.getMTI());
             log.error(errorMessage);
             throw new ISOFormatException(errorMessage);
         }
@@ -168,7 +190,10 @@ public class ISO8583Processor {
         return isoMsg;
     }
 
-    private String generateStan() {
-        return String.valueOf((int) (Math.random() * 1000000));
+    private static Timer stageTimer(MeterRegistry meterRegistry, String name, String description) {
+        return Timer.builder(name)
+            .description(description)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.destaxa.api.util;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+public record Money(long minorUnits) implements Comparable<Money>, Serializable {
+
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    public static Money ofMajorUnits(long majorUnits) {
+        return ofMinorUnits(Math.multiplyExact(majorUnits, 100L));
+    }
+
+    public static Money of(BigDecimal amount) {
+        return amount == null ? null : ofMinorUnits(amount.movePointRight(2).longValue());
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, 2);
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return minorUnits > other.minorUnits;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
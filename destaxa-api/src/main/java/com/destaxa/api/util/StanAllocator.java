@@ -0,0 +1,69 @@
+package com.destaxa.api.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Gera STANs (campo 11) sem locks.
+ * <p>
+ * O espaço de 6 dígitos (1 a 999999) é dividido em {@code node-count} partições disjuntas, uma por réplica.
+ * Dentro da partição, cada stripe tem um contador próprio e percorre um subconjunto intercalado dos valores;
+ * as threads escolhem o stripe pelo id, evitando disputa em um único contador. Um STAN só se repete depois que
+ * o seu stripe percorre todo o seu subconjunto.
+ */
+@Component
+public class StanAllocator {
+
+    static final int MAX_STAN = 999_999;
+    private static final int PADDING = 16;
+
+    private final int base;
+    private final int stripes;
+    private final int stripeMask;
+    private final int stripeSize;
+    private final AtomicLongArray counters;
+
+    public StanAllocator(@Value("${authorization.stan.node-id}") int nodeId,
+        @Value("${authorization.stan.node-count}") int nodeCount,
+        @Value("${authorization.stan.stripes}") int stripes) {
+        if (nodeCount <= 0 || nodeId < 0 || nodeId >= nodeCount) {
+            throw new IllegalArgumentException("node-id deve estar entre 0 e node-count - 1");
+        }
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes deve ser uma potência de 2");
+        }
+
+        int partitionSize = MAX_STAN / nodeCount;
+        if (partitionSize < stripes) {
+            throw new IllegalArgumentException("Partição de STAN menor que o número de stripes");
+        }
+
+        this.base = 1 + nodeId * partitionSize;
+        this.stripes = stripes;
+        this.stripeMask = stripes - 1;
+        this.stripeSize = partitionSize / stripes;
+        this.counters = new AtomicLongArray(stripes * PADDING);
+
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            counters.set(stripe * PADDING, ThreadLocalRandom.current().nextInt(stripeSize));
+        }
+    }
+
+    public int next() {
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        long sequence = counters.getAndIncrement(stripe * PADDING);
+
+        return base + (int) (sequence % stripeSize) * stripes + stripe;
+    }
+
+    public int firstStan() {
+        return base;
+    }
+
+    public int lastStan() {
+        return base + stripeSize * stripes - 1;
+    }
+}
@@ -1,13 +1,28 @@
 package com.destaxa.api;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
+@TestPropertySource(properties = {"authorization.results.directory=target/results/${random.uuid}"})
 class DestaxaApiApplicationTests {
 
+	@Autowired
+	private ApplicationContext context;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void deliveryExecutorKeepsApplicationTaskExecutor() {
+		assertTrue(context.containsBean("applicationTaskExecutor"));
+		assertTrue(context.containsBean("deliveryExecutor"));
+	}
+
 }
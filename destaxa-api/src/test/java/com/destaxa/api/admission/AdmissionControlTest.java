@@ -0,0 +1,53 @@
+package com.destaxa.api.admission;
+
+import com.destaxa.api.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControlTest {
+
+    @Test
+    void testRejectsAboveMaxInFlight() {
+        AdmissionControl admissionControl = new AdmissionControl(new SimpleMeterRegistry(), 2, 0, 1);
+
+        admissionControl.acquire();
+        admissionControl.acquire();
+
+        AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class, admissionControl::acquire);
+        assertEquals(AdmissionControl.REASON_IN_FLIGHT, e.getReason());
+
+        admissionControl.release();
+        admissionControl.acquire();
+        assertEquals(2, admissionControl.inFlight());
+    }
+
+    @Test
+    void testLatencyAboveTargetReducesLimit() {
+        AdmissionControl admissionControl = new AdmissionControl(new SimpleMeterRegistry(), 100, 100, 1);
+
+        admissionControl.recordLatency(TimeUnit.MILLISECONDS.toNanos(400));
+        assertEquals(25, admissionControl.effectiveLimit());
+
+        for (int i = 0; i < 25; i++) {
+            admissionControl.acquire();
+        }
+        AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class, admissionControl::acquire);
+        assertEquals(AdmissionControl.REASON_LATENCY, e.getReason());
+    }
+
+    @Test
+    void testLimitsAdjustableAtRuntime() {
+        AdmissionControl admissionControl = new AdmissionControl(new SimpleMeterRegistry(), 1, 0, 1);
+        admissionControl.acquire();
+        assertThrows(AdmissionRejectedException.class, admissionControl::acquire);
+
+        admissionControl.update(2, 0);
+        admissionControl.acquire();
+
+        assertThrows(IllegalArgumentException.class, () -> admissionControl.update(0, 0));
+    }
+}
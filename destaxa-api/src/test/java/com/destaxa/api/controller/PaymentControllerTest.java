@@ -1,33 +1,67 @@
 package com.destaxa.api.controller;
 
+import com.destaxa.api.admission.AdmissionControl;
 import com.destaxa.api.dto.AuthorizationRequest;
+import com.destaxa.api.dto.AuthorizationResponse;
+import com.destaxa.api.listener.ResponseListener;
+import com.destaxa.api.store.AuthorizationResultStore;
+import com.destaxa.api.stream.AuthorizationStream;
 import com.destaxa.api.util.ISO8583Processor;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncListener;
 import org.jpos.iso.ISOException;
 import org.jpos.iso.ISOMsg;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static com.destaxa.api.util.ISO8583Processor.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@TestPropertySource(properties = {"authorization.sync.max-wait=2000", "authorization.stream.write-timeout=300",
+    "authorization.results.directory=target/results/${random.uuid}"})
 public class PaymentControllerTest {
 
     @Autowired
@@ -39,9 +73,30 @@ public class PaymentControllerTest {
     @Autowired
     private ISO8583Processor processor;
 
+    @Autowired
+    private ResponseListener responseListener;
+
+    @Autowired
+    private Queue replyQueue;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
     @MockitoBean
     private RabbitTemplate rabbitTemplate;
 
+    @MockitoSpyBean
+    private AuthorizationResultStore resultStore;
+
+    @Autowired
+    private AuthorizationStream authorizationStream;
+
+    @Value("${authorization.stream.senders}")
+    private int streamSenders;
+
     @Value("${spring.rabbitmq.listener.authorization-queue.queue-name}")
     private String autorizacaoQueue;
 
@@ -56,12 +111,17 @@ public class PaymentControllerTest {
             .andExpect(status().isAccepted());
 
         ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
-        verify(rabbitTemplate, times(1)).convertAndSend(eq(autorizacaoQueue), messageCaptor.capture());
+        ArgumentCaptor<MessagePostProcessor> postProcessorCaptor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(rabbitTemplate, times(1)).convertAndSend(eq(autorizacaoQueue), (Object) messageCaptor.capture(), postProcessorCaptor.capture(), any(CorrelationData.class));
         String isoMessageSent = messageCaptor.getValue();
 
         assertNotNull(isoMessageSent);
         assertTrue("0200".equals(extractFieldFromIsoMessage(isoMessageSent, 0)));
         assertTrue(isoMessageSent.contains(request.getCardNumber()));
+
+        Message message = postProcessorCaptor.getValue().postProcessMessage(new Message(new byte[0], new MessageProperties()));
+        assertEquals(replyQueue.getName(), message.getMessageProperties().getReplyTo());
+        assertEquals(request.getExternalId(), message.getMessageProperties().getCorrelationId());
     }
 
     @Test
@@ -87,6 +147,416 @@ public class PaymentControllerTest {
             .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testAuthorizeAndWait_returnsDecision() throws Exception {
+        AuthorizationRequest request = criarRequisicaoValida();
+        request.setExternalId("ext-sync-1");
+        String jsonRequest = objectMapper.writeValueAsString(request);
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/authorization")
+                .param("wait", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonRequest))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        MessageProperties properties = new MessageProperties();
+        properties.setCorrelationId(request.getExternalId());
+        responseListener.onMessage(new Message(criarRespostaIso(" ", "000").getBytes(StandardCharsets.ISO_8859_1), properties));
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.responseCode").value("000"))
+            .andExpect(jsonPath("$.paymentId").value("payment123"));
+
+        assertTrue(meterRegistry.get("authorization.roundtrip").timer().count() >= 1);
+        assertTrue(meterRegistry.get("authorization.responses").tag("code", "000").counter().count() >= 1);
+        assertTrue(meterRegistry.get("iso8583.pack").timer().count() >= 1);
+    }
+
+    @Test
+    void testAuthorizeAndWait_deadlineFallsBackToAccepted() throws Exception {
+        AuthorizationRequest request = criarRequisicaoValida();
+        request.setExternalId("ext-sync-2");
+        String jsonRequest = objectMapper.writeValueAsString(request);
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/authorization")
+                .param("wait", "100")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonRequest))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        MockAsyncContext asyncContext = (MockAsyncContext) mvcResult.getRequest().getAsyncContext();
+        assertNotNull(asyncContext);
+        assertEquals(100, asyncContext.getTimeout());
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(null);
+        }
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.externalId").value(request.getExternalId()));
+    }
+
+    @Test
+    void testAuthorizeAndWait_nackFailsImmediately() throws Exception {
+        AuthorizationRequest request = criarRequisicaoValida();
+        request.setExternalId("ext-sync-3");
+        String jsonRequest = objectMapper.writeValueAsString(request);
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/authorization")
+                .param("wait", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonRequest))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        ArgumentCaptor<CorrelationData> correlationCaptor = ArgumentCaptor.forClass(CorrelationData.class);
+        verify(rabbitTemplate).convertAndSend(eq(autorizacaoQueue), any(Object.class), any(MessagePostProcessor.class), correlationCaptor.capture());
+        assertEquals(request.getExternalId(), correlationCaptor.getValue().getId());
+
+        correlationCaptor.getValue().getFuture().complete(new CorrelationData.Confirm(false, "fila cheia"));
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void testAuthorize_nackFailsPendingStatusAndStream() throws Exception {
+        AuthorizationRequest request = criarRequisicaoValida();
+        request.setExternalId("ext-nack-1");
+
+        mockMvc.perform(post("/api/authorization")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isAccepted());
+
+        MvcResult stream = mockMvc.perform(get("/api/authorization/{externalId}/events", "ext-nack-1")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(get("/api/authorization/{externalId}", "ext-nack-1"))
+            .andExpect(status().isAccepted());
+
+        ArgumentCaptor<CorrelationData> correlationCaptor = ArgumentCaptor.forClass(CorrelationData.class);
+        verify(rabbitTemplate).convertAndSend(eq(autorizacaoQueue), any(Object.class), any(MessagePostProcessor.class), correlationCaptor.capture());
+        correlationCaptor.getValue().getFuture().complete(new CorrelationData.Confirm(false, "fila cheia"));
+
+        mockMvc.perform(get("/api/authorization/{externalId}", "ext-nack-1"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(jsonPath("$.externalId").value("ext-nack-1"));
+
+        String body = awaitEvent(stream, "event:failure");
+        assertTrue(body.contains("id:ext-nack-1"), body);
+        mockMvc.perform(asyncDispatch(stream))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void testAuthorize_duplicateInFlightPublishesOnce() throws Exception {
+        AuthorizationRequest request = criarRequisicaoValida();
+        request.setExternalId("ext-dup-1");
+        String jsonRequest = objectMapper.writeValueAsString(request);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/authorization")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(jsonRequest))
+                .andExpect(status().isAccepted());
+        }
+
+        verify(rabbitTemplate, times(1)).convertAndSend(eq(autorizacaoQueue), any(Object.class), any(MessagePostProcessor.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void testAuthorize_duplicateAfterDecisionReturnsCachedDecision() throws Exception {
+        AuthorizationRequest request = criarRequisicaoValida();
+        request.setExternalId("ext-dup-2");
+        String jsonRequest = objectMapper.writeValueAsString(request);
+
+        mockMvc.perform(post("/api/authorization")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonRequest))
+            .andExpect(status().isAccepted());
+
+        MessageProperties properties = new MessageProperties();
+        properties.setCorrelationId(request.getExternalId());
+        responseListener.onMessage(new Message(criarRespostaIso(" ", "000").getBytes(StandardCharsets.ISO_8859_1), properties));
+
+        mockMvc.perform(post("/api/authorization")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonRequest))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.responseCode").value("000"))
+            .andExpect(jsonPath("$.paymentId").value("payment123"));
+
+        verify(rabbitTemplate, times(1)).convertAndSend(eq(autorizacaoQueue), any(Object.class), any(MessagePostProcessor.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void testAuthorize_duplicateDecidedDuringAdmissionIsNotPublishedAgain() throws Exception {
+        AuthorizationRequest request = criarRequisicaoValida();
+        request.setExternalId("ext-dup-3");
+        String jsonRequest = objectMapper.writeValueAsString(request);
+
+        mockMvc.perform(post("/api/authorization")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonRequest))
+            .andExpect(status().isAccepted());
+
+        // a decisão chega entre a primeira consulta da repetição e o registro dela como pendente
+        MessageProperties properties = new MessageProperties();
+        properties.setCorrelationId(request.getExternalId());
+        doAnswer(invocation -> {
+            responseListener.onMessage(new Message(criarRespostaIso(" ", "000").getBytes(StandardCharsets.ISO_8859_1), properties)).join();
+            return null;
+        }).doCallRealMethod().when(resultStore).get(request.getExternalId());
+
+        mockMvc.perform(post("/api/authorization")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonRequest))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.responseCode").value("000"));
+
+        verify(rabbitTemplate, times(1)).convertAndSend(eq(autorizacaoQueue), any(Object.class), any(MessagePostProcessor.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void testGetAuthorizationStatus_isRepeatable() throws Exception {
+        MessageProperties properties = new MessageProperties();
+        properties.setCorrelationId("ext-get-1");
+        responseListener.onMessage(new Message(criarRespostaIso(" ", "051").getBytes(StandardCharsets.ISO_8859_1), properties));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/authorization/{externalId}", "ext-get-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseCode").value("051"))
+                .andExpect(jsonPath("$.paymentId").value("payment123"));
+        }
+    }
+
+    @Test
+    void testResponseListener_tagsReceiveTimerWithConsumerQueue() throws Exception {
+        MessageProperties properties = new MessageProperties();
+        properties.setCorrelationId("ext-queue-1");
+        properties.setConsumerQueue("autorizacao_resposta.instancia-1");
+        responseListener.onMessage(new Message(criarRespostaIso(" ", "000").getBytes(StandardCharsets.ISO_8859_1), properties)).join();
+
+        assertEquals(1, meterRegistry.get("rabbitmq.receive").tag("queue", "autorizacao_resposta.instancia-1").timer().count());
+    }
+
+    @Test
+    void testStreamAuthorization_pushesDecisionAndCompletes() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/authorization/{externalId}/events", "ext-sse-1")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        MessageProperties properties = new MessageProperties();
+        properties.setCorrelationId("ext-sse-1");
+        responseListener.onMessage(new Message(criarRespostaIso(" ", "000").getBytes(StandardCharsets.ISO_8859_1), properties));
+
+        String body = awaitEvent(mvcResult, "id:ext-sse-1");
+        assertTrue(body.contains("event:authorization"));
+        assertTrue(body.contains("id:ext-sse-1"));
+        assertTrue(body.contains("\"responseCode\":\"000\""));
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void testStreamAuthorization_stalledSubscribersDoNotBlockOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            // uma escrita parada para cada thread de envio
+            for (int i = 0; i < streamSenders; i++) {
+                String externalId = "ext-sse-stalled-" + i;
+                mockMvc.perform(get("/api/authorization/{externalId}/events", externalId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted());
+                authorizationStream.publish(new StalledResponse(externalId, release));
+            }
+
+            MvcResult mvcResult = mockMvc.perform(get("/api/authorization/{externalId}/events", "ext-sse-5")
+                    .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            MessageProperties properties = new MessageProperties();
+            properties.setCorrelationId("ext-sse-5");
+            responseListener.onMessage(new Message(criarRespostaIso(" ", "000").getBytes(StandardCharsets.ISO_8859_1), properties));
+
+            String body = awaitEvent(mvcResult, "id:ext-sse-5");
+            assertTrue(body.contains("\"responseCode\":\"000\""));
+            assertTrue(meterRegistry.get("authorization.stream.dropped").tag("type", "external-id").counter().count() >= streamSenders);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testStreamAuthorization_alreadyDecidedIsSentImmediately() throws Exception {
+        MessageProperties properties = new MessageProperties();
+        properties.setCorrelationId("ext-sse-2");
+        responseListener.onMessage(new Message(criarRespostaIso(" ", "051").getBytes(StandardCharsets.ISO_8859_1), properties));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/authorization/{externalId}/events", "ext-sse-2")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk());
+        assertTrue(mvcResult.getResponse().getContentAsString().contains("\"responseCode\":\"051\""));
+    }
+
+    @Test
+    void testStreamMerchant_receivesDecisionsOfItsAuthorizations() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/merchant/{merchantId}/authorization/events", "loja-1")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        for (String externalId : new String[]{"ext-sse-3", "ext-sse-4"}) {
+            AuthorizationRequest request = criarRequisicaoValida();
+            request.setExternalId(externalId);
+            request.setMerchantId("ext-sse-3".equals(externalId) ? "loja-1" : "loja-2");
+
+            mockMvc.perform(post("/api/authorization")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted());
+
+            MessageProperties properties = new MessageProperties();
+            properties.setCorrelationId(externalId);
+            responseListener.onMessage(new Message(criarRespostaIso(" ", "000").getBytes(StandardCharsets.ISO_8859_1), properties));
+        }
+
+        String body = awaitEvent(mvcResult, "id:ext-sse-3");
+        assertFalse(body.contains("id:ext-sse-4"));
+        assertTrue(meterRegistry.get("authorization.stream.events").tag("type", "merchant").counter().count() >= 1);
+    }
+
+    @Test
+    void testAuthorizeBulk_streamsResultPerLine() throws Exception {
+        AuthorizationRequest valid = criarRequisicaoValida();
+        valid.setExternalId("ext-bulk-1");
+        AuthorizationRequest invalid = criarRequisicaoValida();
+        invalid.setExternalId("ext-bulk-2");
+        invalid.setCardNumber("123");
+
+        String body = objectMapper.writeValueAsString(valid) + "\n"
+            + objectMapper.writeValueAsString(invalid) + "\n"
+            + "\n"
+            + "{nao-e-json\n";
+
+        CompletableFuture<MvcResult> bulk = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mockMvc.perform(post("/api/authorization/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                    .andReturn();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+
+        verify(rabbitTemplate, timeout(5000)).convertAndSend(eq(autorizacaoQueue), any(Object.class), any(MessagePostProcessor.class), any(CorrelationData.class));
+
+        MessageProperties properties = new MessageProperties();
+        properties.setCorrelationId(valid.getExternalId());
+        responseListener.onMessage(new Message(criarRespostaIso(" ", "000").getBytes(StandardCharsets.ISO_8859_1), properties));
+
+        MvcResult result = bulk.get(5, TimeUnit.SECONDS);
+        assertEquals(200, result.getResponse().getStatus());
+
+        Map<Long, JsonNode> lines = new HashMap<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            lines.put(node.get("line").asLong(), node);
+        }
+
+        assertEquals(3, lines.size());
+        assertEquals(200, lines.get(1L).get("status").asInt());
+        assertEquals("000", lines.get(1L).get("response").get("responseCode").asText());
+        assertEquals(400, lines.get(2L).get("status").asInt());
+        assertEquals("ext-bulk-2", lines.get(2L).get("externalId").asText());
+        assertTrue(lines.get(2L).get("error").asText().contains("cardNumber"));
+        assertEquals(400, lines.get(4L).get("status").asInt());
+    }
+
+    @Test
+    void testAuthorize_inFlightLimitRejectsWithRetryAfter() throws Exception {
+        int maxInFlight = admissionControl.maxInFlight();
+        admissionControl.update(admissionControl.inFlight() + 1, 0);
+
+        try {
+            AuthorizationRequest request = criarRequisicaoValida();
+            request.setExternalId("ext-admission-1");
+            mockMvc.perform(post("/api/authorization")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted());
+
+            request.setExternalId("ext-admission-2");
+            mockMvc.perform(post("/api/authorization")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+
+            verify(rabbitTemplate, times(1)).convertAndSend(eq(autorizacaoQueue), any(Object.class), any(MessagePostProcessor.class), any(CorrelationData.class));
+            assertTrue(meterRegistry.get("authorization.admission.rejected").tag("reason", "in-flight").counter().count() >= 1);
+        } finally {
+            admissionControl.update(maxInFlight, 0);
+        }
+    }
+
+    /**
+     * Os eventos SSE são escritos pelas threads de envio, depois que a resposta é processada.
+     */
+    /**
+     * Decisão cuja serialização fica bloqueada até {@code release}, como a escrita para um cliente que parou de ler.
+     */
+    private static class StalledResponse extends AuthorizationResponse {
+
+        private final CountDownLatch release;
+
+        StalledResponse(String externalId, CountDownLatch release) {
+            this.release = release;
+            setExternalId(externalId);
+            setResponseCode("000");
+        }
+
+        @Override
+        public String getResponseCode() {
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.getResponseCode();
+        }
+    }
+
+    private static String awaitEvent(MvcResult mvcResult, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String body = mvcResult.getResponse().getContentAsString();
+
+        while (!body.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            body = mvcResult.getResponse().getContentAsString();
+        }
+
+        assertTrue(body.contains(expected), body);
+        return body;
+    }
+
     private AuthorizationRequest criarRequisicaoValida() {
         AuthorizationRequest request = new AuthorizationRequest();
 
@@ -101,6 +571,20 @@ public class PaymentControllerTest {
         return request;
     }
 
+    private String criarRespostaIso(String externalId, String responseCode) throws ISOException {
+        ISOMsg isoMsg = new ISOMsg();
+        isoMsg.setPackager(processor.getPackager());
+        isoMsg.setHeader(ISO_HEADER.getBytes(StandardCharsets.ISO_8859_1));
+        isoMsg.setMTI(MTI_AUTHORIZATION_RESPONSE);
+        isoMsg.set(FIELD_TRANSACTION_AMOUNT, "000000001050");
+        isoMsg.set(FIELD_AUTHORIZATION_ID_RESPONSE, "abc123");
+        isoMsg.set(FIELD_RESPONSE_CODE, responseCode);
+        isoMsg.set(FIELD_EXTERNAL_ID, externalId);
+        isoMsg.set(FIELD_PAYMENT_ID, "payment123");
+
+        return new String(isoMsg.pack(), StandardCharsets.ISO_8859_1);
+    }
+
     private String extractFieldFromIsoMessage(String isoMessage, int fieldNumber) throws ISOException {
         ISOMsg isoMsg = new ISOMsg();
         isoMsg.setPackager(processor.getPackager());
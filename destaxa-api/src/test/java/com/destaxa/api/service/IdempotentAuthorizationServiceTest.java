@@ -0,0 +1,49 @@
+package com.destaxa.api.service;
+
+import com.destaxa.api.admission.AdmissionControl;
+import com.destaxa.api.dto.AuthorizationRequest;
+import com.destaxa.api.store.AuthorizationResultStore;
+import com.destaxa.api.stream.AuthorizationStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IdempotentAuthorizationServiceTest {
+
+    @Test
+    void testTimedOutAuthorizationsCountTowardsLatency() throws Exception {
+        long inFlightTimeout = 200;
+        AdmissionControl admissionControl = new AdmissionControl(new SimpleMeterRegistry(), 100, 50, 1);
+        PaymentService paymentService = mock(PaymentService.class);
+        when(paymentService.authorize(any())).thenReturn(new CompletableFuture<>());
+
+        IdempotentAuthorizationService service = new IdempotentAuthorizationService(paymentService, admissionControl,
+            mock(AuthorizationResultStore.class), mock(AuthorizationStream.class), new SimpleMeterRegistry(), inFlightTimeout);
+
+        AuthorizationRequest request = new AuthorizationRequest();
+        request.setExternalId("ext-timeout-1");
+        CompletableFuture<?> pending = service.authorize(request);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+
+        // a cópia devolvida pode completar antes do callback que registra a latência e libera a vaga
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (admissionControl.inFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, admissionControl.inFlight());
+        assertTrue(admissionControl.averageLatencyMillis() >= inFlightTimeout);
+        assertTrue(admissionControl.effectiveLimit() < 100);
+    }
+}
@@ -0,0 +1,130 @@
+package com.destaxa.api.store;
+
+import com.destaxa.api.dto.AuthorizationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthorizationResultStoreTest {
+
+    private static final long TTL = 60_000;
+    private static final long SEGMENT_SIZE = 8 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+
+    @Test
+    void testReadsAreRepeatableAndSurviveRestart() throws IOException {
+        AuthorizationResultStore store = open(1);
+        store.put("ext-1", response("pay-1", "000"));
+        store.put("ext-2", response("pay-2", "051"));
+
+        assertEquals("pay-1", store.get("ext-1").getPaymentId());
+        assertEquals("pay-1", store.get("ext-1").getPaymentId());
+        store.close();
+
+        AuthorizationResultStore reopened = open(1);
+        AuthorizationResponse restored = reopened.get("ext-2");
+
+        assertEquals(2, reopened.size());
+        assertEquals(response("pay-2", "051"), restored);
+        assertNull(reopened.get("ext-3"));
+        reopened.close();
+    }
+
+    @Test
+    void testLatestResultWinsAndExpiredResultsAreDropped() throws IOException {
+        AuthorizationResultStore store = open(16);
+        store.put("ext-1", response("pay-1", "051"));
+        store.put("ext-1", response("pay-1", "000"));
+        clock.addAndGet(TTL / 2);
+        store.put("ext-2", response("pay-2", "000"));
+        store.close();
+
+        clock.addAndGet(TTL / 2);
+        AuthorizationResultStore reopened = open(16);
+
+        assertNull(reopened.get("ext-1"));
+        assertEquals("000", reopened.get("ext-2").getResponseCode());
+        reopened.close();
+    }
+
+    @Test
+    void testExpiredSegmentsAreDeletedOnRoll() throws IOException {
+        AuthorizationResultStore store = open(1);
+
+        for (int i = 0; i < 200; i++) {
+            store.put("ext-" + i, response("pay-" + i, "000"));
+        }
+        long segmentsBefore = segmentCount();
+
+        clock.addAndGet(TTL);
+        for (int i = 200; i < 400; i++) {
+            store.put("ext-" + i, response("pay-" + i, "000"));
+        }
+
+        assertTrue(segmentsBefore > 1);
+        assertNull(store.get("ext-0"));
+        assertEquals("pay-399", store.get("ext-399").getPaymentId());
+        assertTrue(store.size() <= 200);
+        store.close();
+    }
+
+    @Test
+    void testCorruptedTailIsIgnoredOnRestart() throws IOException {
+        AuthorizationResultStore store = open(1);
+        store.put("ext-1", response("pay-1", "000"));
+        store.put("ext-2", response("pay-2", "000"));
+        store.close();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        AuthorizationResultStore reopened = open(1);
+        assertEquals("pay-1", reopened.get("ext-1").getPaymentId());
+        assertNull(reopened.get("ext-2"));
+        reopened.close();
+    }
+
+    private AuthorizationResultStore open(int cacheCapacity) {
+        return new AuthorizationResultStore(directory, SEGMENT_SIZE, TTL, false, cacheCapacity, TTL, clock::get,
+            new SimpleMeterRegistry());
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static AuthorizationResponse response(String paymentId, String responseCode) {
+        AuthorizationResponse response = new AuthorizationResponse();
+        response.setPaymentId(paymentId);
+        response.setExternalId(paymentId.replace("pay", "ext"));
+        response.setValue(new BigDecimal("10.50"));
+        response.setResponseCode(responseCode);
+        response.setAuthorizationCode("000".equals(responseCode) ? "ABC123" : null);
+        response.setTransactionDate(LocalDate.of(2024, 5, 1));
+        response.setTransactionHour(LocalTime.of(13, 45, 10));
+        return response;
+    }
+}
@@ -0,0 +1,85 @@
+package com.destaxa.api.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpiringMapTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void testPutAndRemove() {
+        ExpiringMap<String> map = new ExpiringMap<>(10, 1000, OverflowPolicy.REJECT, clock::get);
+
+        assertTrue(map.put("ext1", "a"));
+        assertEquals("a", map.get("ext1"));
+        assertEquals("a", map.remove("ext1"));
+        assertNull(map.get("ext1"));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        ExpiringMap<String> map = new ExpiringMap<>(10, 1000, OverflowPolicy.REJECT, clock::get);
+        map.put("ext1", "a");
+
+        advance(900);
+        assertEquals("a", map.get("ext1"));
+
+        advance(300);
+        assertNull(map.get("ext1"));
+        assertEquals(0, map.size());
+        assertEquals(1, map.expirations());
+    }
+
+    @Test
+    void testExpiryAfterLongIdlePeriod() {
+        ExpiringMap<String> map = new ExpiringMap<>(10, 1000, OverflowPolicy.REJECT, clock::get);
+        map.put("ext1", "a");
+        map.put("ext2", "b");
+
+        advance(60_000);
+        map.put("ext3", "c");
+
+        assertEquals(1, map.size());
+        assertEquals(2, map.expirations());
+        assertEquals("c", map.get("ext3"));
+    }
+
+    @Test
+    void testRejectPolicyWhenFull() {
+        ExpiringMap<String> map = new ExpiringMap<>(2, 1000, OverflowPolicy.REJECT, clock::get);
+
+        assertTrue(map.put("ext1", "a"));
+        assertTrue(map.put("ext2", "b"));
+        assertFalse(map.put("ext3", "c"));
+        assertTrue(map.put("ext1", "a2"));
+
+        assertNull(map.get("ext3"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testEvictOldestPolicyWhenFull() {
+        ExpiringMap<String> map = new ExpiringMap<>(2, 1000, OverflowPolicy.EVICT_OLDEST, clock::get);
+
+        map.put("ext1", "a");
+        advance(200);
+        map.put("ext2", "b");
+        advance(200);
+        map.put("ext3", "c");
+
+        assertNull(map.get("ext1"));
+        assertEquals("b", map.get("ext2"));
+        assertEquals("c", map.get("ext3"));
+        assertEquals(1, map.evictions());
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
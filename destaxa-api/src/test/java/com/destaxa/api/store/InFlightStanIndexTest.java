@@ -0,0 +1,69 @@
+package com.destaxa.api.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InFlightStanIndexTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void testPutAndRemove() {
+        InFlightStanIndex index = new InFlightStanIndex(100, 1000, clock::get);
+
+        assertTrue(index.putIfAbsent(123456, "ext1"));
+        assertFalse(index.putIfAbsent(123456, "ext2"));
+        assertEquals("ext1", index.get(123456));
+        assertEquals("ext1", index.remove(123456));
+        assertNull(index.remove(123456));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testRemoveKeepsCollidingKeysReachable() {
+        InFlightStanIndex index = new InFlightStanIndex(16 * 64, 1000, clock::get);
+
+        for (int stan = 1; stan <= 800; stan++) {
+            assertTrue(index.putIfAbsent(stan, "ext" + stan));
+        }
+        for (int stan = 1; stan <= 800; stan += 2) {
+            assertEquals("ext" + stan, index.remove(stan));
+        }
+        for (int stan = 2; stan <= 800; stan += 2) {
+            assertEquals("ext" + stan, index.get(stan));
+        }
+        assertEquals(400, index.size());
+    }
+
+    @Test
+    void testExpiredEntriesAreReplacedAndPurged() {
+        InFlightStanIndex index = new InFlightStanIndex(16, 1000, clock::get);
+        index.putIfAbsent(42, "ext1");
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        assertNull(index.get(42));
+        assertTrue(index.putIfAbsent(42, "ext2"));
+        assertEquals("ext2", index.remove(42));
+    }
+
+    @Test
+    void testFullSegmentRejectsUntilEntriesExpire() {
+        InFlightStanIndex index = new InFlightStanIndex(16, 1000, clock::get);
+        int accepted = 0;
+
+        for (int stan = 1; stan <= 1000; stan++) {
+            if (index.putIfAbsent(stan, "ext" + stan)) {
+                accepted++;
+            }
+        }
+        assertTrue(accepted < 1000);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+        assertTrue(index.putIfAbsent(1001, "ext1001"));
+    }
+}
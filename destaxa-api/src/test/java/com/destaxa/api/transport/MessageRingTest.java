@@ -0,0 +1,127 @@
+package com.destaxa.api.transport;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageRingTest {
+
+    @Test
+    void testOfferFailsWhenFullAndSlotsAreReusedAfterPoll() {
+        MessageRing ring = new MessageRing(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer("id-" + i, new byte[]{(byte) i}));
+        }
+        assertFalse(ring.offer("id-4", new byte[]{4}));
+        assertEquals(4, ring.size());
+
+        List<String> polled = new ArrayList<>();
+        assertTrue(ring.poll((correlationId, payload) -> polled.add(correlationId)));
+        assertTrue(ring.offer("id-4", new byte[]{4}));
+
+        while (ring.poll((correlationId, payload) -> polled.add(correlationId))) {
+            // esvazia a fila
+        }
+
+        assertEquals(List.of("id-0", "id-1", "id-2", "id-3", "id-4"), polled);
+        assertFalse(ring.poll((correlationId, payload) -> fail("fila deveria estar vazia")));
+        assertThrows(IllegalArgumentException.class, () -> new MessageRing(1000));
+    }
+
+    @Test
+    void testIdleConsumerIsWokenByProducer() throws Exception {
+        int rounds = 21;
+        MessageRing ring = new MessageRing(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        LinkedBlockingQueue<Long> latencies = new LinkedBlockingQueue<>();
+
+        Thread consumer = new Thread(() -> ring.consume(running::get,
+            (correlationId, payload) -> latencies.add(System.nanoTime() - Long.parseLong(correlationId))));
+        consumer.start();
+
+        long[] samples = new long[rounds];
+        try {
+            for (int i = 0; i < rounds; i++) {
+                // tempo suficiente para a espera do consumidor chegar ao máximo
+                Thread.sleep(30);
+                assertTrue(ring.offer(Long.toString(System.nanoTime()), new byte[]{0}));
+
+                Long latency = latencies.poll(1, TimeUnit.SECONDS);
+                assertNotNull(latency);
+                samples[i] = latency;
+            }
+        } finally {
+            running.set(false);
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        assertFalse(consumer.isAlive());
+
+        Arrays.sort(samples);
+        long median = samples[rounds / 2];
+        assertTrue(median < TimeUnit.MILLISECONDS.toNanos(1), "mediana de " + median + "ns após ociosidade");
+    }
+
+    @Test
+    void testConcurrentProducersAndConsumersDeliverEachMessageOnce() throws Exception {
+        int producers = 4;
+        int messagesPerProducer = 50_000;
+        MessageRing ring = new MessageRing(1024);
+        Set<String> delivered = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        List<Thread> consumers = new ArrayList<>();
+        for (int c = 0; c < 3; c++) {
+            Thread consumer = new Thread(() -> ring.consume(running::get, (correlationId, payload) -> {
+                if (!correlationId.equals(new String(payload, StandardCharsets.ISO_8859_1)) || !delivered.add(correlationId)) {
+                    duplicates.incrementAndGet();
+                }
+            }));
+            consumer.start();
+            consumers.add(consumer);
+        }
+
+        CountDownLatch produced = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            new Thread(() -> {
+                for (int i = 0; i < messagesPerProducer; i++) {
+                    String correlationId = producer + "-" + i;
+                    byte[] payload = correlationId.getBytes(StandardCharsets.ISO_8859_1);
+                    while (!ring.offer(correlationId, payload)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                produced.countDown();
+            }).start();
+        }
+
+        assertTrue(produced.await(30, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (delivered.size() < producers * messagesPerProducer && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        running.set(false);
+        for (Thread consumer : consumers) {
+            consumer.join();
+        }
+
+        assertEquals(producers * messagesPerProducer, delivered.size());
+        assertEquals(0, duplicates.get());
+        assertEquals(0, ring.size());
+    }
+}
@@ -0,0 +1,45 @@
+package com.destaxa.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StanAllocatorTest {
+
+    @Test
+    void testStansAreUniqueWithinWindow() {
+        StanAllocator allocator = new StanAllocator(0, 1, 16);
+        Set<Integer> stans = new HashSet<>();
+
+        for (int i = 0; i < 60_000; i++) {
+            int stan = allocator.next();
+            assertTrue(stan >= 1 && stan <= StanAllocator.MAX_STAN);
+            assertTrue(stans.add(stan), "STAN repetido: " + stan);
+        }
+    }
+
+    @Test
+    void testNodesUseDisjointPartitions() {
+        StanAllocator first = new StanAllocator(0, 3, 16);
+        StanAllocator second = new StanAllocator(1, 3, 16);
+        StanAllocator third = new StanAllocator(2, 3, 16);
+
+        assertTrue(first.lastStan() < second.firstStan());
+        assertTrue(second.lastStan() < third.firstStan());
+        assertTrue(third.lastStan() <= StanAllocator.MAX_STAN);
+
+        for (int i = 0; i < 1000; i++) {
+            int stan = second.next();
+            assertTrue(stan >= second.firstStan() && stan <= second.lastStan());
+        }
+    }
+
+    @Test
+    void testInvalidNodeIdRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new StanAllocator(2, 2, 16));
+        assertThrows(IllegalArgumentException.class, () -> new StanAllocator(0, 1, 10));
+    }
+}
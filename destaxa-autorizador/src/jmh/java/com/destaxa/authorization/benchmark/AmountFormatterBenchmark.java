@@ -0,0 +1,41 @@
+package com.destaxa.authorization.benchmark;
+
+import com.destaxa.authorization.iso.formatter.AmountFormatter;
+import com.destaxa.authorization.model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AmountFormatterBenchmark {
+
+    private final AmountFormatter amountFormatter = new AmountFormatter();
+    private final BigDecimal amount = new BigDecimal("1234.56");
+    private final Money money = Money.ofMinorUnits(123456);
+    private final String formattedAmount = "000000123456";
+    private final byte[] buffer = new byte[AmountFormatter.AMOUNT_LENGTH];
+
+    @Benchmark
+    public String format() {
+        return amountFormatter.format(amount);
+    }
+
+    @Benchmark
+    public String formatMoney() {
+        return amountFormatter.format(money);
+    }
+
+    @Benchmark
+    public byte[] formatTo() {
+        amountFormatter.formatTo(money.minorUnits(), buffer, 0);
+        return buffer;
+    }
+
+    @Benchmark
+    public Money parse() {
+        return amountFormatter.parse(formattedAmount);
+    }
+}
@@ -0,0 +1,30 @@
+package com.destaxa.authorization.benchmark;
+
+import com.destaxa.authorization.model.AuthorizationRequest;
+import com.destaxa.authorization.rules.AuthorizationDecision;
+import com.destaxa.authorization.rules.AuthorizationRules;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AuthorizationRulesBenchmark {
+
+    private final AuthorizationRules authorizationRules = BenchmarkFixtures.rules(new SimpleMeterRegistry());
+    private final AuthorizationRequest approvedRequest = BenchmarkFixtures.request(new BigDecimal("500.00"));
+    private final AuthorizationRequest deniedRequest = BenchmarkFixtures.request(new BigDecimal("-100.00"));
+
+    @Benchmark
+    public AuthorizationDecision applyApproved() {
+        return authorizationRules.apply(approvedRequest, "0f8fad5b-d9cb-469f-a165-70867728950e");
+    }
+
+    @Benchmark
+    public AuthorizationDecision applyDenied() {
+        return authorizationRules.apply(deniedRequest, "0f8fad5b-d9cb-469f-a165-70867728950e");
+    }
+}
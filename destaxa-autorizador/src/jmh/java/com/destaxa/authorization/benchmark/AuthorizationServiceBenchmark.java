@@ -0,0 +1,82 @@
+package com.destaxa.authorization.benchmark;
+
+import com.destaxa.authorization.id.IdGenerator;
+import com.destaxa.authorization.iso.ISO8583Processor;
+import com.destaxa.authorization.journal.TransactionJournal;
+import com.destaxa.authorization.metrics.ResponseCodeCounters;
+import com.destaxa.authorization.service.AuthorizationService;
+import com.destaxa.authorization.transport.RabbitReplyTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jpos.iso.ISOException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AuthorizationServiceBenchmark {
+
+    private AuthorizationService authorizationService;
+    private ThreadPoolTaskScheduler scheduler;
+    private byte[] requestMessage;
+
+    @Setup
+    public void setUp(Blackhole blackhole) throws ISOException {
+        ISO8583Processor processor = BenchmarkFixtures.processor();
+        requestMessage = BenchmarkFixtures.requestMessage(processor, new BigDecimal("500.00"));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+
+        RabbitReplyTransport replyTransport = new RabbitReplyTransport(new BlackholeRabbitTemplate(blackhole),
+            "autorizacao_resposta", 5000, registry);
+        authorizationService = new AuthorizationService(processor, replyTransport,
+            "autorizacao_resposta", BenchmarkFixtures.rules(registry), scheduler, new ResponseCodeCounters(registry),
+            new TransactionJournal(true, Path.of("target", "jmh-journal"), DataSize.ofMegabytes(64), 4, registry),
+            new IdGenerator(0), registry);
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public void processAuthorizationRequest() {
+        authorizationService.processAuthorizationRequest(requestMessage, null, null);
+    }
+
+    @Benchmark
+    public void processAuthorizationRequestWithReplyTo() {
+        authorizationService.processAuthorizationRequest(requestMessage, "autorizacao_resposta.instance", "externalId123");
+    }
+
+    static class BlackholeRabbitTemplate extends RabbitTemplate {
+
+        private final Blackhole blackhole;
+
+        BlackholeRabbitTemplate(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void convertAndSend(String routingKey, Object object) {
+            blackhole.consume(object);
+        }
+
+        @Override
+        public void convertAndSend(String routingKey, Object message, MessagePostProcessor messagePostProcessor) {
+            blackhole.consume(message);
+        }
+    }
+}
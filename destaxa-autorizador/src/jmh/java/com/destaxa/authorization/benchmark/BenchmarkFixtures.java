@@ -0,0 +1,98 @@
+package com.destaxa.authorization.benchmark;
+
+import com.destaxa.authorization.bin.BinLookup;
+import com.destaxa.authorization.bin.BinTable;
+import com.destaxa.authorization.id.IdGenerator;
+import com.destaxa.authorization.iso.ISO8583Processor;
+import com.destaxa.authorization.iso.formatter.AmountFormatter;
+import com.destaxa.authorization.model.AuthorizationRequest;
+import com.destaxa.authorization.model.AuthorizationResponse;
+import com.destaxa.authorization.model.Money;
+import com.destaxa.authorization.rules.AuthorizationRules;
+import com.destaxa.authorization.rules.RuleDefinition;
+import com.destaxa.authorization.rules.RuleType;
+import com.destaxa.authorization.velocity.VelocityStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOMsg;
+import org.jpos.iso.packager.GenericPackager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.destaxa.authorization.iso.ISO8583Processor.*;
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static GenericPackager packager() throws ISOException {
+        return new GenericPackager(BenchmarkFixtures.class.getResourceAsStream("/packager.xml"));
+    }
+
+    static AuthorizationRules rules(MeterRegistry meterRegistry) {
+        return new AuthorizationRules(List.of(
+            new RuleDefinition("valor-minimo", RuleType.MIN_AMOUNT, new BigDecimal("0.01"), null, null, "051", null, null),
+            new RuleDefinition("codigo-processamento", RuleType.PROCESSING_CODE, null, null, List.of("003000", "003001"), "012", null, null),
+            new RuleDefinition("valor-maximo", RuleType.MAX_AMOUNT, new BigDecimal("1000.00"), null, null, "051", 5000L, null)),
+            new VelocityStore(1024, meterRegistry), new BinLookup(BinTable.EMPTY, meterRegistry),
+            new IdGenerator(0), meterRegistry);
+    }
+
+    static ISO8583Processor processor() throws ISOException {
+        return new ISO8583Processor(packager(), new AmountFormatter(), new SimpleMeterRegistry());
+    }
+
+    static byte[] requestMessage(ISO8583Processor processor, BigDecimal value) throws ISOException {
+        ISOMsg isoMsg = new ISOMsg();
+        isoMsg.setPackager(processor.getPackager());
+        isoMsg.setHeader(ISO_HEADER.getBytes(StandardCharsets.ISO_8859_1));
+        isoMsg.setMTI(MTI_AUTHORIZATION_REQUEST);
+        isoMsg.set(FIELD_CARD_NUMBER, "1234567890123456");
+        isoMsg.set(FIELD_PROCESSING_CODE, "003000");
+        isoMsg.set(FIELD_TRANSACTION_AMOUNT, processor.getAmountFormatter().format(value));
+        isoMsg.set(FIELD_TRANSMISSION_DATE_TIME, "1018120000");
+        isoMsg.set(FIELD_NSU, "123456");
+        isoMsg.set(FIELD_LOCAL_TRANSACTION_TIME, "120000");
+        isoMsg.set(FIELD_LOCAL_TRANSACTION_DATE, "1018");
+        isoMsg.set(FIELD_EXPIRATION_DATE, "2812");
+        isoMsg.set(FIELD_ENTRY_MODE, "000");
+        isoMsg.set(FIELD_EXTERNAL_ID, "externalId123");
+        isoMsg.set(FIELD_INSTALLMENTS, "01");
+        return isoMsg.pack();
+    }
+
+    static AuthorizationRequest request(BigDecimal value) {
+        AuthorizationRequest request = new AuthorizationRequest();
+        request.setExternalId("externalId123");
+        request.setValue(Money.of(value));
+        request.setCardNumber("1234567890123456");
+        request.setProcessingCode("003000");
+        request.setTransmissionDateTime("1018120000");
+        request.setNsu("123456");
+        request.setTransactionTime("120000");
+        request.setTransactionDate("1018");
+        request.setEntryMode("000");
+        request.setInstallments(1);
+        request.setExpMonth(12);
+        request.setExpYear(2028);
+        return request;
+    }
+
+    static AuthorizationResponse response(BigDecimal value) {
+        AuthorizationResponse response = new AuthorizationResponse();
+        response.setPaymentId("0f8fad5b-d9cb-469f-a165-70867728950e");
+        response.setValue(Money.of(value));
+        response.setResponseCode("000");
+        response.setAuthorizationCode("a1b2c3");
+        response.setNsu("123456");
+        response.setTransmissionDateTime("1018120000");
+        response.setLocalTransactionTime("120000");
+        response.setLocalTransactionDate("1018");
+        response.setExternalId("externalId123");
+        return response;
+    }
+}
@@ -0,0 +1,58 @@
+package com.destaxa.authorization.benchmark;
+
+import com.destaxa.authorization.bin.BinRange;
+import com.destaxa.authorization.bin.BinTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta em uma tabela com {@code ranges} faixas de 8 dígitos (com faixas de 6 dígitos envolvendo parte delas),
+ * para PANs sorteados dentro e fora das faixas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BinLookupBenchmark {
+
+    private static final int CARDS = 4096;
+
+    @Param({"300000"})
+    private int ranges;
+
+    private BinTable table;
+    private String[] cards;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<BinRange> definitions = new ArrayList<>(ranges);
+
+        for (int i = 0; i < ranges / 100; i++) {
+            String bin = String.valueOf(400000 + i * 5);
+            definitions.add(new BinRange(bin, bin, "emissor-" + i, 1000_00, "rota-" + i % 16));
+        }
+        while (definitions.size() < ranges) {
+            int i = definitions.size();
+            String low = String.valueOf(40000000 + i * 10L);
+            definitions.add(new BinRange(low, String.valueOf(40000000 + i * 10L + 4), "emissor-" + i, -1, "rota-" + i % 16));
+        }
+
+        table = BinTable.of(definitions);
+
+        SplittableRandom random = new SplittableRandom(42);
+        cards = new String[CARDS];
+        for (int i = 0; i < CARDS; i++) {
+            cards[i] = String.format("%08d%08d", 40000000 + random.nextInt(ranges * 10), random.nextInt(100_000_000));
+        }
+    }
+
+    @Benchmark
+    public BinRange lookup() {
+        String card = cards[next++ & (CARDS - 1)];
+        return table.lookup(card);
+    }
+}
@@ -0,0 +1,38 @@
+package com.destaxa.authorization.benchmark;
+
+import com.destaxa.authorization.exception.ISOFormatException;
+import com.destaxa.authorization.iso.ISO8583Processor;
+import com.destaxa.authorization.model.AuthorizationRequest;
+import com.destaxa.authorization.model.AuthorizationResponse;
+import org.jpos.iso.ISOException;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ISO8583ProcessorBenchmark {
+
+    private ISO8583Processor processor;
+    private byte[] requestMessage;
+    private AuthorizationResponse response;
+
+    @Setup
+    public void setUp() throws ISOException {
+        processor = BenchmarkFixtures.processor();
+        requestMessage = BenchmarkFixtures.requestMessage(processor, new BigDecimal("500.00"));
+        response = BenchmarkFixtures.response(new BigDecimal("500.00"));
+    }
+
+    @Benchmark
+    public AuthorizationRequest fromIso8583() throws ISOFormatException {
+        return processor.fromIso8583(requestMessage);
+    }
+
+    @Benchmark
+    public String toIso8583() throws ISOException {
+        return processor.toIso8583(response);
+    }
+}
@@ -0,0 +1,41 @@
+package com.destaxa.authorization.bin;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "bins")
+@RequiredArgsConstructor
+public class BinEndpoint {
+
+    private final BinLookup binLookup;
+
+    @ReadOperation
+    public Map<String, Object> bins() {
+        return Map.of(
+            "location", binLookup.location(),
+            "version", binLookup.version(),
+            "ranges", binLookup.size());
+    }
+
+    /**
+     * Consulta a faixa vigente para um prefixo de PAN de 6 a 8 dígitos: emissor, limite em centavos ({@code -1} sem
+     * limite) e rota. Responde 404 quando nenhuma faixa contém o prefixo.
+     */
+    @ReadOperation
+    public BinRange lookup(@Selector String prefix) {
+        return binLookup.lookup(prefix);
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() {
+        binLookup.reload();
+        return bins();
+    }
+}
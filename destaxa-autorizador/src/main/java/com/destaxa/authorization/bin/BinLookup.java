@@ -0,0 +1,103 @@
+package com.destaxa.authorization.bin;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Mantém a {@link BinTable} vigente, lida de {@code authorization.bin.location}. {@link #reload()} lê o arquivo
+ * novamente e publica a nova tabela com uma única escrita volátil; consultas em andamento continuam na anterior.
+ */
+@Slf4j
+@Component
+public class BinLookup {
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private volatile BinTable table;
+    private volatile long version;
+
+    @Autowired
+    public BinLookup(ResourceLoader resourceLoader, @Value("${authorization.bin.location:}") String location,
+        MeterRegistry meterRegistry) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+        this.table = location.isBlank() ? BinTable.EMPTY : read();
+        this.version = 1;
+
+        registerMetrics(meterRegistry);
+        log.info("Tabela de BIN carregada de '{}': {} intervalos", location, table.size());
+    }
+
+    public BinLookup(BinTable table, MeterRegistry meterRegistry) {
+        this.resourceLoader = null;
+        this.location = "";
+        this.table = table;
+        this.version = 1;
+
+        registerMetrics(meterRegistry);
+    }
+
+    /**
+     * @return a faixa mais específica que contém o PAN, ou {@code null}
+     */
+    public BinRange lookup(String cardNumber) {
+        return table.lookup(cardNumber);
+    }
+
+    public synchronized long reload() {
+        if (location.isBlank()) {
+            throw new IllegalStateException("authorization.bin.location não configurado");
+        }
+
+        replace(read());
+        return version;
+    }
+
+    public synchronized void replace(BinTable next) {
+        table = next;
+        version++;
+        log.info("Tabela de BIN substituída (versão {}): {} intervalos", version, next.size());
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public String location() {
+        return location;
+    }
+
+    private BinTable read() {
+        Resource resource = resourceLoader.getResource(location);
+
+        if (!resource.exists()) {
+            throw new IllegalArgumentException("Tabela de BIN não encontrada: " + location);
+        }
+
+        try (InputStream input = resource.getInputStream()) {
+            return BinTable.read(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler tabela de BIN " + location, e);
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("authorization.bin.ranges", this, BinLookup::size)
+            .description("Intervalos de BIN da tabela vigente")
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.destaxa.authorization.bin;
+
+/**
+ * Faixa de BIN/IIN de um emissor, como lida do arquivo da {@link BinTable}.
+ *
+ * @param low       prefixo inicial (6 a 8 dígitos)
+ * @param high      prefixo final (6 a 8 dígitos)
+ * @param maxAmount valor máximo por transação em centavos, ou {@code -1} sem limite
+ * @param route     destino da autorização para o emissor
+ */
+public record BinRange(String low, String high, String issuer, long maxAmount, String route) {
+
+    public boolean hasLimit() {
+        return maxAmount >= 0;
+    }
+}
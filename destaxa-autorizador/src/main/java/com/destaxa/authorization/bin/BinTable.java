@@ -0,0 +1,241 @@
+package com.destaxa.authorization.bin;
+
+import com.destaxa.authorization.model.Money;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Tabela imutável de faixas de BIN, consultada pelos 8 primeiros dígitos do PAN.
+ * <p>
+ * Os prefixos são normalizados para 8 dígitos (o início completado com {@code 0}, o fim com {@code 9}) e as
+ * faixas aninhadas são achatadas em intervalos disjuntos, em que prevalece a faixa mais específica. A consulta é
+ * uma busca binária em {@code int[]}, sem locks e sem alocações.
+ */
+public final class BinTable {
+
+    public static final BinTable EMPTY = new BinTable(new int[0], new int[0], new BinRange[0], 0);
+
+    private static final int PREFIX_DIGITS = 8;
+    private static final int MIN_PREFIX_DIGITS = 6;
+
+    private final int[] starts;
+    private final int[] ends;
+    private final BinRange[] ranges;
+    private final int size;
+
+    private BinTable(int[] starts, int[] ends, BinRange[] ranges, int size) {
+        this.starts = starts;
+        this.ends = ends;
+        this.ranges = ranges;
+        this.size = size;
+    }
+
+    /**
+     * @throws IllegalArgumentException se houver faixas inválidas ou sobrepostas sem que uma contenha a outra
+     */
+    public static BinTable of(List<BinRange> ranges) {
+        int count = ranges.size();
+        int[] lows = new int[count];
+        int[] highs = new int[count];
+        Integer[] order = new Integer[count];
+
+        for (int i = 0; i < count; i++) {
+            BinRange range = ranges.get(i);
+            lows[i] = normalize(range.low(), '0');
+            highs[i] = normalize(range.high(), '9');
+            order[i] = i;
+
+            if (lows[i] > highs[i]) {
+                throw new IllegalArgumentException("Faixa de BIN invertida: " + range.low() + "-" + range.high());
+            }
+        }
+
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> lows[i]).thenComparing(i -> highs[i], Comparator.reverseOrder()));
+
+        Flattener flattener = new Flattener(count);
+        for (int i : order) {
+            flattener.add(lows[i], highs[i], ranges.get(i));
+        }
+
+        return flattener.finish();
+    }
+
+    /**
+     * Formato: {@code inicio,fim,emissor,valorMaximo,rota} por linha; {@code valorMaximo} vazio indica sem
+     * limite. Linhas em branco ou iniciadas por {@code #} são ignoradas.
+     */
+    public static BinTable read(InputStream input) throws IOException {
+        List<BinRange> ranges = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] columns = line.split(",", -1);
+                if (columns.length != 5) {
+                    throw new IllegalArgumentException("Linha " + number + " da tabela de BIN inválida: " + line);
+                }
+
+                try {
+                    String maxAmount = columns[3].strip();
+                    ranges.add(new BinRange(columns[0].strip(), columns[1].strip(), columns[2].strip(),
+                        maxAmount.isEmpty() ? -1 : Money.of(new BigDecimal(maxAmount)).minorUnits(), columns[4].strip()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Linha " + number + " da tabela de BIN com valor inválido: " + line, e);
+                }
+            }
+        }
+
+        return of(ranges);
+    }
+
+    /**
+     * @return a faixa mais específica que contém o PAN, ou {@code null}
+     */
+    public BinRange lookup(String cardNumber) {
+        int key = prefix(cardNumber);
+        if (key < 0) {
+            return null;
+        }
+
+        int low = 0;
+        int high = size - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        return high >= 0 && ends[high] >= key ? ranges[high] : null;
+    }
+
+    /**
+     * @return quantidade de intervalos disjuntos após o achatamento das faixas aninhadas
+     */
+    public int size() {
+        return size;
+    }
+
+    private static int prefix(String cardNumber) {
+        if (cardNumber == null || cardNumber.length() < MIN_PREFIX_DIGITS) {
+            return -1;
+        }
+
+        int key = 0;
+        for (int i = 0; i < PREFIX_DIGITS; i++) {
+            int digit = i < cardNumber.length() ? cardNumber.charAt(i) - '0' : 0;
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            key = key * 10 + digit;
+        }
+        return key;
+    }
+
+    private static int normalize(String prefix, char fill) {
+        if (prefix == null || prefix.length() < MIN_PREFIX_DIGITS || prefix.length() > PREFIX_DIGITS) {
+            throw new IllegalArgumentException("Prefixo de BIN deve ter de 6 a 8 dígitos: " + prefix);
+        }
+
+        int value = 0;
+        for (int i = 0; i < PREFIX_DIGITS; i++) {
+            char c = i < prefix.length() ? prefix.charAt(i) : fill;
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Prefixo de BIN inválido: " + prefix);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Percorre as faixas ordenadas por início (e, no mesmo início, da mais larga para a mais estreita) mantendo a
+     * pilha de faixas abertas; cada trecho é atribuído à faixa aberta mais interna.
+     */
+    private static final class Flattener {
+
+        private final Deque<Open> open = new ArrayDeque<>();
+        private int[] starts;
+        private int[] ends;
+        private BinRange[] ranges;
+        private int size;
+        private long position;
+
+        Flattener(int capacity) {
+            int initial = Math.max(1, capacity);
+            this.starts = new int[initial];
+            this.ends = new int[initial];
+            this.ranges = new BinRange[initial];
+        }
+
+        void add(int low, int high, BinRange range) {
+            closeBefore(low);
+
+            Open enclosing = open.peek();
+            if (enclosing != null) {
+                if (high > enclosing.high) {
+                    throw new IllegalArgumentException("Faixas de BIN sobrepostas: " + enclosing.range.low() + "-"
+                        + enclosing.range.high() + " e " + range.low() + "-" + range.high());
+                }
+                emit(position, low - 1L, enclosing.range);
+            }
+
+            position = low;
+            open.push(new Open(high, range));
+        }
+
+        BinTable finish() {
+            closeBefore(Long.MAX_VALUE);
+            return new BinTable(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size), Arrays.copyOf(ranges, size), size);
+        }
+
+        private void closeBefore(long low) {
+            while (!open.isEmpty() && open.peek().high < low) {
+                Open closed = open.pop();
+                emit(position, closed.high, closed.range);
+                position = closed.high + 1L;
+            }
+        }
+
+        private void emit(long from, long to, BinRange range) {
+            if (from > to) {
+                return;
+            }
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                ranges = Arrays.copyOf(ranges, size * 2);
+            }
+
+            starts[size] = (int) from;
+            ends[size] = (int) to;
+            ranges[size] = range;
+            size++;
+        }
+
+        private record Open(int high, BinRange range) {
+        }
+    }
+}
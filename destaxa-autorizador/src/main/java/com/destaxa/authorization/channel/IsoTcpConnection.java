@@ -0,0 +1,186 @@
+package com.destaxa.authorization.channel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Uma conexão do {@link IsoTcpServer}, com quadros {@code [tamanho: 2 bytes big-endian][mensagem ISO8583]}.
+ * <p>
+ * Só a thread de I/O do servidor lê e escreve no canal. As respostas produzidas em outras threads entram na fila de
+ * saída e são escritas, várias por chamada, quando a thread de I/O é acordada.
+ */
+final class IsoTcpConnection {
+
+    static final int LENGTH_PREFIX = 2;
+    static final int MAX_FRAME_LENGTH = 0xFFFF;
+
+    private static final int MAX_GATHER = 64;
+
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final String remoteAddress;
+    private final int maxFrameLength;
+    private final ByteBuffer inbound;
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    IsoTcpConnection(SocketChannel channel, SelectionKey key, int maxFrameLength) {
+        this.channel = channel;
+        this.key = key;
+        this.remoteAddress = remoteAddress(channel);
+        this.maxFrameLength = maxFrameLength;
+        this.inbound = ByteBuffer.allocate(LENGTH_PREFIX + maxFrameLength);
+    }
+
+    /**
+     * Lê o que estiver disponível no canal e entrega cada quadro completo ao {@code handler}. Quadros de tamanho zero
+     * (keep-alive) são descartados.
+     *
+     * @return {@code false} quando o cliente encerrou a conexão
+     */
+    boolean readFrames(Consumer<byte[]> handler) throws IOException {
+        int read = channel.read(inbound);
+        inbound.flip();
+
+        try {
+            while (inbound.remaining() >= LENGTH_PREFIX) {
+                int length = Short.toUnsignedInt(inbound.getShort(inbound.position()));
+
+                if (length > maxFrameLength) {
+                    throw new IOException("Quadro ISO8583 de " + length + " bytes excede o limite de " + maxFrameLength);
+                }
+                if (inbound.remaining() < LENGTH_PREFIX + length) {
+                    break;
+                }
+
+                inbound.position(inbound.position() + LENGTH_PREFIX);
+                if (length > 0) {
+                    byte[] frame = new byte[length];
+                    inbound.get(frame);
+                    inFlight.incrementAndGet();
+                    handler.accept(frame);
+                }
+            }
+        } finally {
+            inbound.compact();
+        }
+
+        return read >= 0;
+    }
+
+    /**
+     * @return {@code true} quando a conexão precisa ser registrada para escrita pela thread de I/O
+     */
+    boolean enqueue(String isoResponse) {
+        inFlight.decrementAndGet();
+
+        if (closed) {
+            return false;
+        }
+
+        byte[] payload = isoResponse.getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer frame = ByteBuffer.allocate(LENGTH_PREFIX + payload.length);
+        frame.putShort((short) payload.length).put(payload).flip();
+        outbound.add(frame);
+
+        return writeScheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Libera a posição de uma requisição que terminou sem resposta.
+     */
+    void discard() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Escreve a fila de saída até esvaziá-la ou até o buffer do socket encher.
+     *
+     * @return quantidade de respostas escritas por completo
+     */
+    int flush() throws IOException {
+        writeScheduled.set(false);
+        int written = 0;
+
+        while (!outbound.isEmpty()) {
+            int count = 0;
+            for (ByteBuffer buffer : outbound) {
+                gather[count++] = buffer;
+                if (count == MAX_GATHER) {
+                    break;
+                }
+            }
+
+            channel.write(gather, 0, count);
+
+            for (int i = 0; i < count; i++) {
+                if (gather[i].hasRemaining()) {
+                    clearGather(count);
+                    return written;
+                }
+                outbound.poll();
+                written++;
+            }
+            clearGather(count);
+        }
+
+        return written;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    boolean hasPendingWrites() {
+        return !outbound.isEmpty();
+    }
+
+    SelectionKey key() {
+        return key;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+        key.cancel();
+        outbound.clear();
+
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // conexão já encerrada pelo cliente
+        }
+    }
+
+    String remoteAddress() {
+        return remoteAddress;
+    }
+
+    private static String remoteAddress(SocketChannel channel) {
+        try {
+            return String.valueOf(channel.getRemoteAddress());
+        } catch (IOException e) {
+            return "?";
+        }
+    }
+
+    private void clearGather(int count) {
+        for (int i = 0; i < count; i++) {
+            gather[i] = null;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.destaxa.authorization.channel;
+
+import com.destaxa.authorization.service.AuthorizationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Canal ISO8583 sobre TCP, ao lado do transporte pelo RabbitMQ, para adquirentes e switches que mantêm conexões
+ * persistentes com quadros prefixados pelo tamanho (2 bytes big-endian).
+ * <p>
+ * Uma única thread de I/O aceita conexões, lê quadros e escreve respostas com NIO. Cada requisição é decidida pelo
+ * {@link AuthorizationService} em um pool de workers, e a resposta volta pela mesma conexão assim que fica pronta:
+ * várias requisições podem estar em andamento por conexão e as respostas saem fora de ordem, cabendo ao cliente
+ * associá-las pelo STAN (campo 11), que é devolvido na resposta. Com {@code max-in-flight} requisições pendentes
+ * em uma conexão, a leitura dela é suspensa até que respostas sejam escritas.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "authorization.tcp.enabled", havingValue = "true")
+public class IsoTcpServer implements SmartLifecycle {
+
+    private final AuthorizationService authorizationService;
+    private final String host;
+    private final int port;
+    private final int workers;
+    private final int maxInFlight;
+    private final int maxFrameLength;
+    private final Set<IsoTcpConnection> connections = ConcurrentHashMap.newKeySet();
+    private final Queue<IsoTcpConnection> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final Counter receivedCounter;
+    private final Counter sentCounter;
+    private final Timer latencyTimer;
+
+    private TaskExecutor workerExecutor;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread ioThread;
+    private volatile boolean running;
+
+    public IsoTcpServer(AuthorizationService authorizationService, MeterRegistry meterRegistry,
+        @Value("${authorization.tcp.host}") String host,
+        @Value("${authorization.tcp.port}") int port,
+        @Value("${authorization.tcp.workers}") int workers,
+        @Value("${authorization.tcp.max-in-flight}") int maxInFlight,
+        @Value("${authorization.tcp.max-frame-length}") int maxFrameLength) {
+        if (maxInFlight <= 0 || maxFrameLength <= 0 || maxFrameLength > IsoTcpConnection.MAX_FRAME_LENGTH) {
+            throw new IllegalArgumentException("Configuração do canal ISO8583 TCP inválida");
+        }
+
+        this.authorizationService = authorizationService;
+        this.host = host;
+        this.port = port;
+        this.workers = workers;
+        this.maxInFlight = maxInFlight;
+        this.maxFrameLength = maxFrameLength;
+
+        this.receivedCounter = Counter.builder("authorization.tcp.messages")
+            .tag("direction", "received")
+            .register(meterRegistry);
+        this.sentCounter = Counter.builder("authorization.tcp.messages")
+            .tag("direction", "sent")
+            .register(meterRegistry);
+        this.latencyTimer = Timer.builder("authorization.tcp.latency")
+            .description("Tempo entre a leitura de uma requisição e a resposta pronta para escrita")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("authorization.tcp.connections", connections, Set::size)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        try {
+            selector = Selector.open();
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(host, port));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir o canal ISO8583 TCP na porta " + port, e);
+        }
+
+        workerExecutor = createWorkerExecutor();
+        running = true;
+
+        ioThread = new Thread(this::run, "iso-tcp-io");
+        ioThread.start();
+
+        log.info("Canal ISO8583 TCP escutando em {}:{}", host, port());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        selector.wakeup();
+
+        try {
+            ioThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        connections.forEach(IsoTcpConnection::close);
+        connections.clear();
+
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            log.warn("Erro ao fechar o canal ISO8583 TCP: {}", e.getMessage());
+        }
+
+        if (workerExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return a porta em que o servidor está escutando, inclusive quando configurado com a porta {@code 0}
+     */
+    public int port() {
+        try {
+            return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                selector.select();
+                flushPendingWrites();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+
+                    IsoTcpConnection connection = (IsoTcpConnection) key.attachment();
+                    if (key.isWritable()) {
+                        write(connection);
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        read(connection);
+                    }
+                }
+            } catch (IOException e) {
+                log.error("Erro no laço de I/O do canal ISO8583 TCP", e);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        IsoTcpConnection connection = new IsoTcpConnection(channel, key, maxFrameLength);
+        key.attach(connection);
+        connections.add(connection);
+
+        log.info("Conexão ISO8583 TCP aberta por {}", connection.remoteAddress());
+    }
+
+    private void read(IsoTcpConnection connection) {
+        try {
+            if (!connection.readFrames(frame -> dispatch(connection, frame))) {
+                close(connection, "encerrada pelo cliente");
+                return;
+            }
+            updateInterest(connection);
+        } catch (IOException e) {
+            close(connection, e.getMessage());
+        }
+    }
+
+    private void dispatch(IsoTcpConnection connection, byte[] frame) {
+        receivedCounter.increment();
+        long receivedAt = System.nanoTime();
+
+        workerExecutor.execute(() -> {
+            try {
+                if (!authorizationService.authorize(frame, response -> respond(connection, response, receivedAt))) {
+                    release(connection);
+                }
+            } catch (RuntimeException e) {
+                log.error("Erro ao processar requisição recebida pelo canal ISO8583 TCP", e);
+                release(connection);
+            }
+        });
+    }
+
+    /**
+     * Libera a posição de uma requisição que terminou sem resposta e pede à thread de I/O que reavalie o interesse
+     * da conexão, retomando a leitura se ela estava no limite de requisições em andamento.
+     */
+    private void release(IsoTcpConnection connection) {
+        connection.discard();
+        pendingWrites.add(connection);
+        selector.wakeup();
+    }
+
+    private void respond(IsoTcpConnection connection, String response, long receivedAt) {
+        latencyTimer.record(System.nanoTime() - receivedAt, TimeUnit.NANOSECONDS);
+
+        if (connection.enqueue(response)) {
+            pendingWrites.add(connection);
+            selector.wakeup();
+        }
+    }
+
+    private void flushPendingWrites() {
+        IsoTcpConnection connection;
+        while ((connection = pendingWrites.poll()) != null) {
+            if (!connection.isClosed()) {
+                write(connection);
+            }
+        }
+    }
+
+    private void write(IsoTcpConnection connection) {
+        try {
+            sentCounter.increment(connection.flush());
+            updateInterest(connection);
+        } catch (IOException e) {
+            close(connection, e.getMessage());
+        }
+    }
+
+    private void updateInterest(IsoTcpConnection connection) {
+        int ops = connection.hasPendingWrites() ? SelectionKey.OP_WRITE : 0;
+        if (connection.inFlight() < maxInFlight) {
+            ops |= SelectionKey.OP_READ;
+        }
+
+        SelectionKey key = connection.key();
+        if (key.isValid() && key.interestOps() != ops) {
+            key.interestOps(ops);
+        }
+    }
+
+    private void close(IsoTcpConnection connection, String reason) {
+        connections.remove(connection);
+        connection.close();
+        log.info("Conexão ISO8583 TCP de {} fechada: {}", connection.remoteAddress(), reason);
+    }
+
+    private TaskExecutor createWorkerExecutor() {
+        if (workers <= 0) {
+            return new SyncTaskExecutor();
+        }
+
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(workers);
+        pool.setMaxPoolSize(workers);
+        pool.setThreadNamePrefix("iso-tcp-worker-");
+        pool.initialize();
+        return pool;
+    }
+}
@@ -0,0 +1,30 @@
+package com.destaxa.authorization.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class DelayedResponseConfig {
+
+    @Value("${authorization.delayed-response.pool-size}")
+    private int poolSize;
+
+    @Value("${authorization.delayed-response.await-termination-seconds}")
+    private int awaitTerminationSeconds;
+
+    /**
+     * Fora dos candidatos padrão, como o {@code deliveryExecutor}, para não desativar o {@code applicationTaskExecutor}
+     * do Spring Boot.
+     */
+    @Bean(defaultCandidate = false)
+    public ThreadPoolTaskScheduler delayedResponseScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("delayed-response-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        return scheduler;
+    }
+}
@@ -0,0 +1,122 @@
+package com.destaxa.authorization.config;
+
+import com.destaxa.authorization.transport.TransportType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
+@Configuration
+public class ListenerContainerConfig {
+
+    private static final int VIRTUAL_THREADS_MIN_VERSION = 21;
+
+    @Value("${spring.rabbitmq.listener.authorization-queue.thread-mode}")
+    private ListenerThreadMode threadMode;
+
+    @Value("${spring.rabbitmq.listener.authorization-queue.prefetch}")
+    private int prefetch;
+
+    @Value("${spring.rabbitmq.listener.authorization-queue.concurrency}")
+    private int concurrency;
+
+    @Value("${spring.rabbitmq.listener.authorization-queue.max-concurrency}")
+    private int maxConcurrency;
+
+    @Value("${spring.rabbitmq.listener.authorization-queue.max-in-flight}")
+    private int maxInFlight;
+
+    @Value("${spring.rabbitmq.listener.authorization-queue.batch.size}")
+    private int batchSize;
+
+    @Value("${spring.rabbitmq.listener.authorization-queue.batch.receive-timeout}")
+    private long batchReceiveTimeout;
+
+    @Value("${authorization.transport.type}")
+    private TransportType transportType;
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+        SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        return createFactory(configurer, connectionFactory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.rabbitmq.listener.authorization-queue.batch.enabled", havingValue = "true")
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+        SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = createFactory(configurer, connectionFactory);
+
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(batchReceiveTimeout);
+        return factory;
+    }
+
+    /**
+     * Executor das entregas assíncronas. Fora dos candidatos padrão para que o {@code applicationTaskExecutor} do
+     * Spring Boot, usado pelo MVC assíncrono e por {@code @Async}, continue configurado; injete com
+     * {@code @Qualifier("deliveryExecutor")}.
+     */
+    @Bean(defaultCandidate = false)
+    public TaskExecutor deliveryExecutor() {
+        if (threadMode == ListenerThreadMode.PLATFORM) {
+            return new SyncTaskExecutor();
+        }
+
+        if (Runtime.version().feature() < VIRTUAL_THREADS_MIN_VERSION) {
+            log.warn("Virtual threads não suportadas nesta JVM ({}), usando um pool de {} threads de plataforma",
+                Runtime.version(), maxInFlight);
+            return platformDeliveryExecutor();
+        }
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("rabbit-delivery-");
+        executor.setConcurrencyLimit(maxInFlight);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Pool de até {@code max-in-flight} threads reaproveitadas entre as entregas. Com o pool e a fila cheios, a
+     * entrega é processada na thread do consumidor, o que segura o consumo até haver espaço.
+     */
+    private TaskExecutor platformDeliveryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxInFlight);
+        executor.setMaxPoolSize(maxInFlight);
+        executor.setQueueCapacity(maxInFlight);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("rabbit-delivery-");
+        executor.initialize();
+        return executor;
+    }
+
+    private SimpleRabbitListenerContainerFactory createFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+        ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        // uma entrega que falha sempre seria reentregue sem fim; rejeitada, vai para a fila .dlq
+        factory.setDefaultRequeueRejected(false);
+        factory.setPrefetchCount(prefetch);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        factory.setAutoStartup(transportType == TransportType.RABBITMQ);
+        return factory;
+    }
+}
@@ -0,0 +1,6 @@
+package com.destaxa.authorization.config;
+
+public enum ListenerThreadMode {
+    PLATFORM,
+    VIRTUAL
+}
@@ -31,11 +31,18 @@ public class RabbitMQConfig {
     @Value("${spring.rabbitmq.template.default-receive-queue}")
     private String autorizacaoRespostaQueue;
 
+    @Value("${spring.rabbitmq.listener.authorization-queue.batch.enabled}")
+    private boolean batchEnabled;
+
     @Bean
     public ConnectionFactory connectionFactory() {
         CachingConnectionFactory connectionFactory = new CachingConnectionFactory(host, port);
         connectionFactory.setUsername(username);
         connectionFactory.setPassword(password);
+
+        if (batchEnabled) {
+            connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.SIMPLE);
+        }
         return connectionFactory;
     }
 
@@ -0,0 +1,112 @@
+package com.destaxa.authorization.id;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Gera os identificadores do autorizador sem passar pelo {@code SecureRandom} compartilhado do
+ * {@link java.util.UUID#randomUUID()}.
+ * <p>
+ * O {@code paymentId} segue o formato do ULID: 128 bits em 26 caracteres Base32 de Crockford, com os 48 bits mais
+ * altos ocupados pelo instante em ms. IDs de milissegundos diferentes ordenam lexicograficamente na ordem de
+ * geração. Os 16 bits seguintes identificam a instância ({@code authorization.id.node-id}) e os 64 restantes são
+ * aleatórios, vindos do {@link ThreadLocalRandom} de cada thread.
+ */
+@Component
+public class IdGenerator {
+
+    public static final int PAYMENT_ID_LENGTH = 26;
+    public static final int AUTHORIZATION_CODE_LENGTH = 6;
+
+    private static final byte[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_NODE_ID = 0xFFFF;
+    private static final int TIMESTAMP_CHARS = 10;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    @Autowired
+    public IdGenerator(@Value("${authorization.id.node-id}") int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    IdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node-id deve estar entre 0 e " + MAX_NODE_ID);
+        }
+
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public String paymentId() {
+        long high = (clock.getAsLong() << 16) | nodeId;
+        long low = ThreadLocalRandom.current().nextLong();
+
+        byte[] id = new byte[PAYMENT_ID_LENGTH];
+        for (int i = PAYMENT_ID_LENGTH - 1; i >= 0; i--) {
+            id[i] = ALPHABET[(int) low & 31];
+            low = (low >>> 5) | (high << 59);
+            high >>>= 5;
+        }
+        return new String(id, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @return código de 6 caracteres (campo 38) com 30 bits aleatórios
+     */
+    public String authorizationCode() {
+        int bits = ThreadLocalRandom.current().nextInt();
+
+        byte[] code = new byte[AUTHORIZATION_CODE_LENGTH];
+        for (int i = AUTHORIZATION_CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET[bits & 31];
+            bits >>>= 5;
+        }
+        return new String(code, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @return instante de geração, em ms, de um {@code paymentId}
+     */
+    public static long timestampOf(String paymentId) {
+        return decode(paymentId, 0, TIMESTAMP_CHARS);
+    }
+
+    /**
+     * @return instância que gerou um {@code paymentId}
+     */
+    public static int nodeIdOf(String paymentId) {
+        return (int) (decode(paymentId, TIMESTAMP_CHARS, TIMESTAMP_CHARS + 4) >>> 4) & MAX_NODE_ID;
+    }
+
+    private static long decode(String paymentId, int from, int to) {
+        if (paymentId == null || paymentId.length() != PAYMENT_ID_LENGTH) {
+            throw new IllegalArgumentException("paymentId inválido: " + paymentId);
+        }
+
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = decode(paymentId.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("paymentId inválido: " + paymentId);
+            }
+            value = (value << 5) | digit;
+        }
+        return value;
+    }
+
+    private static int decode(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
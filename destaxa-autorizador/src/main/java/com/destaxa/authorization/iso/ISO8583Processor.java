@@ -4,6 +4,10 @@ import com.destaxa.authorization.exception.ISOFormatException;
 import com.destaxa.authorization.iso.formatter.AmountFormatter;
 import com.destaxa.authorization.model.AuthorizationRequest;
 import com.destaxa.authorization.model.AuthorizationResponse;
+import com.destaxa.authorization.model.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.jpos.iso.ISOException;
@@ -14,6 +18,7 @@ import org.springframework.stereotype.Component;
 import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Getter
@@ -44,22 +49,50 @@ public class ISO8583Processor {
 
     private final GenericPackager packager;
     private final AmountFormatter amountFormatter;
+    private final IsoFieldLayout fieldLayout;
 
-    public ISO8583Processor(GenericPackager packager, AmountFormatter amountFormatter) {
+    @Getter(AccessLevel.NONE)
+    private final Timer packTimer;
+    @Getter(AccessLevel.NONE)
+    private final Timer unpackTimer;
+    @Getter(AccessLevel.NONE)
+    private final Timer decodeTimer;
+
+    public ISO8583Processor(GenericPackager packager, AmountFormatter amountFormatter, MeterRegistry meterRegistry) {
         this.packager = packager;
         this.amountFormatter = amountFormatter;
+        this.fieldLayout = IsoFieldLayout.from(packager);
+        this.packTimer = stageTimer(meterRegistry, "iso8583.pack", "Empacotamento de mensagens ISO8583");
+        this.unpackTimer = stageTimer(meterRegistry, "iso8583.unpack", "Leitura do bitmap e localização dos campos ISO8583");
+        this.decodeTimer = stageTimer(meterRegistry, "iso8583.decode", "Conversão dos campos ISO8583 para o modelo");
     }
 
     public AuthorizationRequest fromIso8583(String isoMessage) throws ISOFormatException {
+        return fromIso8583(isoMessage.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    public AuthorizationRequest fromIso8583(byte[] isoMessage) throws ISOFormatException {
+        IsoMessageView view = view(isoMessage, MTI_AUTHORIZATION_REQUEST);
+
+        long start = System.nanoTime();
         try {
-            ISOMsg isoMsg = unpackIsoMessage(isoMessage, MTI_AUTHORIZATION_REQUEST);
-            return extractAuthorizationRequestFromIsoMsg(isoMsg);
-        } catch (ISOException e) {
-            throw new ISOFormatException("Erro ao processar mensagem ISO8583: " + e.getMessage(), e);
+            return extractAuthorizationRequest(view);
+        } finally {
+            decodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public IsoMessageView view(byte[] isoMessage) throws ISOFormatException {
+        long start = System.nanoTime();
+        try {
+            return IsoMessageView.wrap(isoMessage, fieldLayout);
+        } finally {
+            unpackTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
     public String toIso8583(AuthorizationResponse response) throws ISOException {
+        long start = System.nanoTime();
         try {
             ISOMsg isoMsg = buildISOMsg(response, MTI_AUTHORIZATION_RESPONSE);
 
@@ -79,34 +112,27 @@ public class ISO8583Processor {
         } catch (ISOFormatException e) {
             log.error("Erro ao formatar a resposta ISO8583", e);
             throw new ISOException("Erro ao construir mensagem ISO8583 de resposta: " + e.getMessage(), e);
+        } finally {
+            packTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
-    private ISOMsg unpackIsoMessage(String isoMessage, String expectedMTI) throws ISOException, ISOFormatException {
-        ISOMsg isoMsg = new ISOMsg();
-        isoMsg.setPackager(packager);
-        isoMsg.setHeader(ISO_HEADER.getBytes(StandardCharsets.ISO_8859_1));
-
-        try {
-            isoMsg.unpack(isoMessage.getBytes(StandardCharsets.ISO_8859_1));
-        } catch (ISOException e) {
-            throw new ISOFormatException("Formato da mensagem ISO8583 inválido", e);
-        }
-
-        validateMTI(isoMsg, expectedMTI);
-        return isoMsg;
+    private IsoMessageView view(byte[] isoMessage, String expectedMTI) throws ISOFormatException {
+        IsoMessageView view = view(isoMessage);
+        validateMTI(view, expectedMTI);
+        return view;
     }
 
-    private String getField(ISOMsg isoMsg, int fieldNumber) throws ISOFormatException {
-        if (isoMsg.hasField(fieldNumber)) {
-            return isoMsg.getString(fieldNumber);
+    private String getField(IsoMessageView view, int fieldNumber) throws ISOFormatException {
+        if (view.hasField(fieldNumber)) {
+            return view.getString(fieldNumber);
         } else {
             throw new ISOFormatException("Campo obrigatório " + fieldNumber + " não encontrado na mensagem ISO8583.");
         }
     }
 
-    private Optional<String> getOptionalField(ISOMsg isoMsg, int fieldNumber) {
-        return isoMsg.hasField(fieldNumber) ? Optional.of(isoMsg.getString(fieldNumber)) : Optional.empty();
+    private Optional<String> getOptionalField(IsoMessageView view, int fieldNumber) {
+        return Optional.ofNullable(view.getString(fieldNumber));
     }
 
     private void setField(ISOMsg isoMsg, int fieldNumber, String value) throws ISOFormatException {
@@ -119,31 +145,30 @@ public class ISO8583Processor {
         }
     }
 
-    private AuthorizationRequest extractAuthorizationRequestFromIsoMsg(ISOMsg isoMsg) throws ISOFormatException {
+    private AuthorizationRequest extractAuthorizationRequest(IsoMessageView view) throws ISOFormatException {
         AuthorizationRequest request = new AuthorizationRequest();
 
-        request.setExternalId(getOptionalField(isoMsg, FIELD_EXTERNAL_ID).orElse(null));
-        request.setValue(amountFormatter.parse(getOptionalField(isoMsg, FIELD_TRANSACTION_AMOUNT).orElse(null)));
-        request.setCardNumber(getOptionalField(isoMsg, FIELD_CARD_NUMBER).orElse(null));
-        request.setInstallments(getOptionalField(isoMsg, FIELD_INSTALLMENTS).map(Integer::parseInt).orElse(0));
-        request.setProcessingCode(getField(isoMsg, FIELD_PROCESSING_CODE));
-        request.setTransmissionDateTime(getField(isoMsg, FIELD_TRANSMISSION_DATE_TIME));
-        request.setNsu(getField(isoMsg, FIELD_NSU));
-        request.setTransactionTime(getField(isoMsg, FIELD_LOCAL_TRANSACTION_TIME));
-        request.setTransactionDate(getField(isoMsg, FIELD_LOCAL_TRANSACTION_DATE));
-        request.setEntryMode(getField(isoMsg, FIELD_ENTRY_MODE));
-
-        String expiryDate = getField(isoMsg, FIELD_EXPIRATION_DATE);
+        request.setExternalId(getOptionalField(view, FIELD_EXTERNAL_ID).orElse(null));
+        request.setValue(view.hasField(FIELD_TRANSACTION_AMOUNT) ? Money.ofMinorUnits(view.getLong(FIELD_TRANSACTION_AMOUNT)) : null);
+        request.setCardNumber(getOptionalField(view, FIELD_CARD_NUMBER).orElse(null));
+        request.setInstallments(view.hasField(FIELD_INSTALLMENTS) ? (int) view.getLong(FIELD_INSTALLMENTS) : 0);
+        request.setProcessingCode(getField(view, FIELD_PROCESSING_CODE));
+        request.setTransmissionDateTime(getField(view, FIELD_TRANSMISSION_DATE_TIME));
+        request.setNsu(getField(view, FIELD_NSU));
+        request.setTransactionTime(getField(view, FIELD_LOCAL_TRANSACTION_TIME));
+        request.setTransactionDate(getField(view, FIELD_LOCAL_TRANSACTION_DATE));
+        request.setEntryMode(getField(view, FIELD_ENTRY_MODE));
+
+        String expiryDate = getField(view, FIELD_EXPIRATION_DATE);
         request.setExpMonth(Integer.parseInt(expiryDate.substring(2, 4)));
         request.setExpYear(Integer.parseInt("20" + expiryDate.substring(0, 2)));
 
         return request;
     }
 
-    private void validateMTI(ISOMsg isoMsg, String expectedMTI) throws ISOFormatException, ISOException {
-        String mti = isoMsg.getMTI();
-        if (!mti.equals(expectedMTI)) {
-            String errorMessage = String.format("MTI inválido. Esperado '%s', recebido '%s'", expectedMTI, mti);
+    private void validateMTI(IsoMessageView view, String expectedMTI) throws ISOFormatException {
+        if (!view.isMTI(expectedMTI)) {
+            String errorMessage = String.format("MTI inválido. Esperado '%s', recebido '%s'", expectedMTI, view.getMTI());
             log.error(errorMessage);
             throw new ISOFormatException(errorMessage);
         }
@@ -160,4 +185,11 @@ public class ISO8583Processor {
         }
         return isoMsg;
     }
-}
\ No newline at end of file
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String name, String description) {
+        return Timer.builder(name)
+            .description(description)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
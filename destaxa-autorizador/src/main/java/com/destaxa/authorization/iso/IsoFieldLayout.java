@@ -0,0 +1,75 @@
+package com.destaxa.authorization.iso;
+
+import org.jpos.iso.IFA_LLBINARY;
+import org.jpos.iso.IFA_LLCHAR;
+import org.jpos.iso.IFA_LLLBINARY;
+import org.jpos.iso.IFA_LLLCHAR;
+import org.jpos.iso.IFA_LLLNUM;
+import org.jpos.iso.IFA_LLNUM;
+import org.jpos.iso.ISOFieldPackager;
+import org.jpos.iso.packager.GenericPackager;
+
+/**
+ * Tamanhos e prefixos de cada campo, extraídos uma única vez do {@link GenericPackager}
+ * para que o {@link IsoMessageView} consiga localizar os campos sem desempacotar a mensagem.
+ */
+public final class IsoFieldLayout {
+
+    public static final int MAX_FIELD = 128;
+
+    private final int headerLength;
+    private final int[] fixedLength = new int[MAX_FIELD + 1];
+    private final int[] prefixLength = new int[MAX_FIELD + 1];
+    private final int[] lengthMultiplier = new int[MAX_FIELD + 1];
+
+    private IsoFieldLayout(int headerLength) {
+        this.headerLength = headerLength;
+    }
+
+    public static IsoFieldLayout from(GenericPackager packager) {
+        IsoFieldLayout layout = new IsoFieldLayout(packager.getHeaderLength());
+
+        for (int field = 2; field <= MAX_FIELD; field++) {
+            ISOFieldPackager fieldPackager = packager.getFieldPackager(field);
+            layout.lengthMultiplier[field] = 1;
+
+            if (fieldPackager == null) {
+                layout.fixedLength[field] = -1;
+            } else if (fieldPackager instanceof IFA_LLNUM || fieldPackager instanceof IFA_LLCHAR) {
+                layout.prefixLength[field] = 2;
+            } else if (fieldPackager instanceof IFA_LLLNUM || fieldPackager instanceof IFA_LLLCHAR) {
+                layout.prefixLength[field] = 3;
+            } else if (fieldPackager instanceof IFA_LLBINARY) {
+                layout.prefixLength[field] = 2;
+                layout.lengthMultiplier[field] = 2;
+            } else if (fieldPackager instanceof IFA_LLLBINARY) {
+                layout.prefixLength[field] = 3;
+                layout.lengthMultiplier[field] = 2;
+            } else {
+                layout.fixedLength[field] = fieldPackager.getMaxPackedLength();
+            }
+        }
+
+        return layout;
+    }
+
+    int headerLength() {
+        return headerLength;
+    }
+
+    boolean isDefined(int field) {
+        return fixedLength[field] != -1;
+    }
+
+    int fixedLength(int field) {
+        return fixedLength[field];
+    }
+
+    int prefixLength(int field) {
+        return prefixLength[field];
+    }
+
+    int lengthMultiplier(int field) {
+        return lengthMultiplier[field];
+    }
+}
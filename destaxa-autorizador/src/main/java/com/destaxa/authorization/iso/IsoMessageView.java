@@ -0,0 +1,143 @@
+package com.destaxa.authorization.iso;
+
+import com.destaxa.authorization.exception.ISOFormatException;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.destaxa.authorization.iso.IsoFieldLayout.MAX_FIELD;
+
+/**
+ * Visão somente leitura sobre os bytes (ISO-8859-1) de uma mensagem ISO8583.
+ * <p>
+ * O bitmap é percorrido uma única vez para registrar a posição de cada campo presente; o conteúdo de um campo
+ * só é decodificado quando lido.
+ */
+public final class IsoMessageView {
+
+    private static final int MTI_LENGTH = 4;
+    private static final int BITMAP_LENGTH = 16;
+
+    private final byte[] data;
+    private final int mtiOffset;
+    private final int[] offsets = new int[MAX_FIELD + 1];
+    private final int[] lengths = new int[MAX_FIELD + 1];
+
+    private IsoMessageView(byte[] data, int mtiOffset) {
+        this.data = data;
+        this.mtiOffset = mtiOffset;
+    }
+
+    public static IsoMessageView wrap(byte[] data, IsoFieldLayout layout) throws ISOFormatException {
+        int position = layout.headerLength();
+        IsoMessageView view = new IsoMessageView(data, position);
+
+        position += MTI_LENGTH;
+        long primary = readBitmap(data, position);
+        position += BITMAP_LENGTH;
+
+        long secondary = 0;
+        if (primary < 0) {
+            secondary = readBitmap(data, position);
+            position += BITMAP_LENGTH;
+        }
+
+        for (int field = 2; field <= MAX_FIELD; field++) {
+            long bitmap = field <= 64 ? primary : secondary;
+            int bit = field <= 64 ? field : field - 64;
+
+            if ((bitmap & (1L << (64 - bit))) == 0 || field == 65) {
+                continue;
+            }
+
+            if (!layout.isDefined(field)) {
+                throw new ISOFormatException("Campo " + field + " não definido no packager.");
+            }
+
+            int length;
+            int prefixLength = layout.prefixLength(field);
+
+            if (prefixLength > 0) {
+                length = (int) parseDigits(data, position, prefixLength, field) * layout.lengthMultiplier(field);
+                position += prefixLength;
+            } else {
+                length = layout.fixedLength(field);
+            }
+
+            if (position + length > data.length) {
+                throw new ISOFormatException("Mensagem ISO8583 truncada no campo " + field + ".");
+            }
+
+            view.offsets[field] = position;
+            view.lengths[field] = length;
+            position += length;
+        }
+
+        return view;
+    }
+
+    public String getMTI() {
+        return new String(data, mtiOffset, MTI_LENGTH, StandardCharsets.ISO_8859_1);
+    }
+
+    public boolean isMTI(String mti) {
+        for (int i = 0; i < MTI_LENGTH; i++) {
+            if (data[mtiOffset + i] != mti.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean hasField(int field) {
+        return field > 1 && field <= MAX_FIELD && offsets[field] > 0;
+    }
+
+    public String getString(int field) {
+        return hasField(field) ? new String(data, offsets[field], lengths[field], StandardCharsets.ISO_8859_1) : null;
+    }
+
+    public long getLong(int field) throws ISOFormatException {
+        if (!hasField(field)) {
+            throw new ISOFormatException("Campo obrigatório " + field + " não encontrado na mensagem ISO8583.");
+        }
+
+        int offset = offsets[field];
+        int length = lengths[field];
+        boolean negative = length > 0 && data[offset] == '-';
+
+        long value = negative ? parseDigits(data, offset + 1, length - 1, field) : parseDigits(data, offset, length, field);
+        return negative ? -value : value;
+    }
+
+    private static long readBitmap(byte[] data, int position) throws ISOFormatException {
+        if (position + BITMAP_LENGTH > data.length) {
+            throw new ISOFormatException("Formato da mensagem ISO8583 inválido");
+        }
+
+        long bitmap = 0;
+        for (int i = 0; i < BITMAP_LENGTH; i++) {
+            int nibble = Character.digit(data[position + i], 16);
+            if (nibble < 0) {
+                throw new ISOFormatException("Formato da mensagem ISO8583 inválido");
+            }
+            bitmap = (bitmap << 4) | nibble;
+        }
+        return bitmap;
+    }
+
+    private static long parseDigits(byte[] data, int offset, int length, int field) throws ISOFormatException {
+        if (length <= 0 || offset + length > data.length) {
+            throw new ISOFormatException("Mensagem ISO8583 truncada no campo " + field + ".");
+        }
+
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = data[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new ISOFormatException("Valor numérico inválido no campo " + field + ".");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
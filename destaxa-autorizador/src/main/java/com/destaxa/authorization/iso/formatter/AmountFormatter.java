@@ -1,33 +1,78 @@
 package com.destaxa.authorization.iso.formatter;
 
+import com.destaxa.authorization.model.Money;
+
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.text.DecimalFormat;
+import java.nio.charset.StandardCharsets;
 
 public class AmountFormatter {
 
+    public static final int AMOUNT_LENGTH = 12;
+
+    private static final long MAX_POSITIVE = 999_999_999_999L;
+    private static final long MAX_NEGATIVE = -99_999_999_999L;
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[AMOUNT_LENGTH]);
+
     public String format(BigDecimal amount) {
+        return format(Money.of(amount));
+    }
+
+    public String format(Money amount) {
         if (amount == null) {
             return null;
         }
 
-        DecimalFormat df = new DecimalFormat("000000000000");
-        String formattedValue = df.format(amount.abs().multiply(new BigDecimal("100")).longValue());
+        long minorUnits = amount.minorUnits();
+
+        if (minorUnits < MAX_NEGATIVE || minorUnits > MAX_POSITIVE) {
+            return formatOverflow(minorUnits);
+        }
+
+        byte[] buffer = BUFFER.get();
+        formatTo(minorUnits, buffer, 0);
+
+        return new String(buffer, 0, AMOUNT_LENGTH, StandardCharsets.ISO_8859_1);
+    }
+
+    public void formatTo(long minorUnits, byte[] target, int offset) {
+        if (minorUnits < MAX_NEGATIVE || minorUnits > MAX_POSITIVE) {
+            throw new IllegalArgumentException("Valor excede " + AMOUNT_LENGTH + " dígitos: " + minorUnits);
+        }
 
-        if (amount.signum() < 0) {
-            formattedValue = "-" + formattedValue.substring(1);
+        long remaining = Math.abs(minorUnits);
+        for (int i = offset + AMOUNT_LENGTH - 1; i >= offset; i--) {
+            target[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
         }
 
-        return formattedValue;
+        if (minorUnits < 0) {
+            target[offset] = '-';
+        }
     }
 
-    public BigDecimal parse(String amount) {
+    public Money parse(String amount) {
         if (amount == null || amount.isBlank()) {
             return null;
         }
 
-        String numericAmount = amount.replaceAll("[^\\d.-]", "");
+        long minorUnits = 0;
+        boolean negative = false;
+
+        for (int i = 0; i < amount.length(); i++) {
+            char c = amount.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                minorUnits = Math.addExact(Math.multiplyExact(minorUnits, 10L), c - '0');
+            } else if (c == '-') {
+                negative = true;
+            }
+        }
+
+        return Money.ofMinorUnits(negative ? -minorUnits : minorUnits);
+    }
 
-        return new BigDecimal(numericAmount).divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
+    private String formatOverflow(long minorUnits) {
+        String digits = Long.toString(Math.abs(minorUnits));
+        return minorUnits < 0 ? "-" + digits.substring(1) : digits;
     }
 }
@@ -0,0 +1,110 @@
+package com.destaxa.authorization.journal;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binário dos registros: {@code [int tamanho][int crc32c][conteúdo]}. Um tamanho zero marca o fim dos
+ * registros gravados no segmento.
+ */
+final class JournalCodec {
+
+    static final int MAGIC = 0x444A524E;
+    static final int VERSION = 1;
+    static final int SEGMENT_HEADER_LENGTH = 8;
+    static final int RECORD_HEADER_LENGTH = 8;
+    static final int MAX_RECORD_LENGTH = 8192;
+
+    private JournalCodec() {
+    }
+
+    static void encode(JournalRecord record, ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.position(start + RECORD_HEADER_LENGTH);
+
+        buffer.putLong(record.timestamp());
+        buffer.putLong(record.amountMinorUnits());
+        buffer.putInt(record.installments());
+        buffer.putLong(record.delayMillis());
+        putString(buffer, record.paymentId());
+        putString(buffer, record.externalId());
+        putString(buffer, record.nsu());
+        putString(buffer, record.maskedPan());
+        putString(buffer, record.responseCode());
+        putString(buffer, record.authorizationCode());
+
+        int length = buffer.position() - start - RECORD_HEADER_LENGTH;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), buffer.arrayOffset() + start + RECORD_HEADER_LENGTH, length);
+
+        buffer.putInt(start, length);
+        buffer.putInt(start + 4, (int) crc.getValue());
+    }
+
+    /**
+     * @return o próximo registro, ou {@code null} no fim dos registros válidos do segmento
+     */
+    static JournalRecord decode(ByteBuffer buffer) {
+        if (buffer.remaining() < RECORD_HEADER_LENGTH) {
+            return null;
+        }
+
+        int start = buffer.position();
+        int length = buffer.getInt(start);
+        int checksum = buffer.getInt(start + 4);
+
+        if (length <= 0 || length > MAX_RECORD_LENGTH || length > buffer.remaining() - RECORD_HEADER_LENGTH) {
+            return null;
+        }
+
+        ByteBuffer payload = buffer.slice(start + RECORD_HEADER_LENGTH, length);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        try {
+            long timestamp = payload.getLong();
+            long amount = payload.getLong();
+            int installments = payload.getInt();
+            long delayMillis = payload.getLong();
+            String paymentId = getString(payload);
+            String externalId = getString(payload);
+            String nsu = getString(payload);
+            String maskedPan = getString(payload);
+            String responseCode = getString(payload);
+            String authorizationCode = getString(payload);
+
+            buffer.position(start + RECORD_HEADER_LENGTH + length);
+            return new JournalRecord(timestamp, paymentId, externalId, nsu, maskedPan, amount, installments,
+                responseCode, authorizationCode, delayMillis);
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
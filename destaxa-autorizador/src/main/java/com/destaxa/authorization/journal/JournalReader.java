@@ -0,0 +1,115 @@
+package com.destaxa.authorization.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Leitura dos segmentos do {@link TransactionJournal}, em ordem de gravação, para reprocessamento e auditoria.
+ * Registros incompletos ou corrompidos (CRC inválido) encerram a leitura do segmento em que estão.
+ */
+@Slf4j
+public final class JournalReader implements Iterable<JournalRecord> {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final List<Path> segments;
+
+    private JournalReader(List<Path> segments) {
+        this.segments = segments;
+    }
+
+    public static JournalReader open(Path directory) throws IOException {
+        return new JournalReader(segments(directory));
+    }
+
+    public List<Path> segmentFiles() {
+        return segments;
+    }
+
+    @Override
+    public Iterator<JournalRecord> iterator() {
+        return new Iterator<>() {
+            private int nextSegment;
+            private MappedByteBuffer current;
+            private JournalRecord next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null) {
+                    if (current != null) {
+                        next = JournalCodec.decode(current);
+                        if (next != null) {
+                            break;
+                        }
+                    }
+                    if (nextSegment >= segments.size()) {
+                        return false;
+                    }
+                    current = map(segments.get(nextSegment++));
+                }
+                return true;
+            }
+
+            @Override
+            public JournalRecord next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                JournalRecord record = next;
+                next = null;
+                return record;
+            }
+        };
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalReader::isSegment).sorted().toList();
+        }
+    }
+
+    static String segmentName(long sequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX);
+    }
+
+    static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static MappedByteBuffer map(Path segment) {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.remaining() < JournalCodec.SEGMENT_HEADER_LENGTH
+                || buffer.getInt() != JournalCodec.MAGIC || buffer.getInt() != JournalCodec.VERSION) {
+                log.warn("Segmento do journal ignorado, cabeçalho inválido: {}", segment);
+                return null;
+            }
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir segmento do journal " + segment, e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.destaxa.authorization.journal;
+
+import com.destaxa.authorization.model.AuthorizationRequest;
+import com.destaxa.authorization.model.AuthorizationResponse;
+
+/**
+ * Registro de uma requisição e da decisão tomada, como gravado no {@link TransactionJournal}.
+ * O número do cartão é sempre mascarado (6 primeiros e 4 últimos dígitos).
+ */
+public record JournalRecord(long timestamp, String paymentId, String externalId, String nsu, String maskedPan,
+                            long amountMinorUnits, int installments, String responseCode, String authorizationCode,
+                            long delayMillis) {
+
+    private static final int VISIBLE_PREFIX = 6;
+    private static final int VISIBLE_SUFFIX = 4;
+
+    public static JournalRecord of(AuthorizationRequest request, AuthorizationResponse response, long delayMillis) {
+        return new JournalRecord(System.currentTimeMillis(), response.getPaymentId(), request.getExternalId(),
+            request.getNsu(), maskPan(request.getCardNumber()),
+            request.getValue() != null ? request.getValue().minorUnits() : 0,
+            request.getInstallments() != null ? request.getInstallments() : 0,
+            response.getResponseCode(), response.getAuthorizationCode(), delayMillis);
+    }
+
+    /**
+     * Registro de uma requisição que não pôde ser decodificada: só o NSU lido do bitmap, quando disponível, e o
+     * {@code paymentId} da resposta de erro.
+     */
+    public static JournalRecord rejected(String paymentId, String nsu, String responseCode) {
+        return new JournalRecord(System.currentTimeMillis(), paymentId, null, nsu, null, 0, 0, responseCode, null, 0);
+    }
+
+    static String maskPan(String pan) {
+        if (pan == null) {
+            return null;
+        }
+        if (pan.length() <= VISIBLE_PREFIX + VISIBLE_SUFFIX) {
+            return "*".repeat(pan.length());
+        }
+
+        char[] masked = pan.toCharArray();
+        for (int i = VISIBLE_PREFIX; i < masked.length - VISIBLE_SUFFIX; i++) {
+            masked[i] = '*';
+        }
+        return new String(masked);
+    }
+}
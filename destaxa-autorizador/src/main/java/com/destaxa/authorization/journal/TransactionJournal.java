@@ -0,0 +1,131 @@
+package com.destaxa.authorization.journal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Journal binário, somente de acréscimo, das requisições e decisões do autorizador.
+ * <p>
+ * Os registros são gravados em segmentos de tamanho fixo mapeados em memória ({@code journal-<seq>.seg}); quando
+ * um segmento enche, um novo é criado e apenas os {@code retained-segments} mais recentes são mantidos. A
+ * gravação não faz I/O síncrono: o conteúdo vai para o page cache e é forçado em disco na troca de segmento e no
+ * encerramento da aplicação. Use {@link JournalReader} para percorrer os registros.
+ */
+@Slf4j
+@Component
+public class TransactionJournal {
+
+    private static final ThreadLocal<ByteBuffer> SCRATCH =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocate(JournalCodec.MAX_RECORD_LENGTH + JournalCodec.RECORD_HEADER_LENGTH));
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final int retainedSegments;
+    private final Counter failures;
+
+    private MappedByteBuffer segment;
+    private long sequence = -1;
+
+    @Autowired
+    public TransactionJournal(@Value("${authorization.journal.enabled}") boolean enabled,
+        @Value("${authorization.journal.directory}") Path directory,
+        @Value("${authorization.journal.segment-size}") DataSize segmentSize,
+        @Value("${authorization.journal.retained-segments}") int retainedSegments,
+        MeterRegistry meterRegistry) {
+        this(enabled, directory, (int) segmentSize.toBytes(), retainedSegments, meterRegistry);
+    }
+
+    TransactionJournal(boolean enabled, Path directory, int segmentSize, int retainedSegments, MeterRegistry meterRegistry) {
+        if (segmentSize < JournalCodec.SEGMENT_HEADER_LENGTH + JournalCodec.MAX_RECORD_LENGTH || retainedSegments <= 0) {
+            throw new IllegalArgumentException("Tamanho de segmento ou retenção do journal inválidos");
+        }
+
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.retainedSegments = retainedSegments;
+        this.failures = Counter.builder("authorization.journal.failures")
+            .description("Registros que não puderam ser gravados no journal")
+            .register(meterRegistry);
+    }
+
+    public void append(JournalRecord record) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            ByteBuffer buffer = SCRATCH.get().clear();
+            JournalCodec.encode(record, buffer);
+            buffer.flip();
+
+            synchronized (this) {
+                if (segment == null || segment.remaining() < buffer.remaining() + JournalCodec.RECORD_HEADER_LENGTH) {
+                    roll();
+                }
+                segment.put(buffer);
+            }
+        } catch (IOException | BufferOverflowException e) {
+            failures.increment();
+            log.error("Erro ao gravar registro no journal de transações: {}", e.getMessage(), e);
+        }
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    @PreDestroy
+    public synchronized void flush() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    private void roll() throws IOException {
+        flush();
+        Files.createDirectories(directory);
+
+        if (sequence < 0) {
+            List<Path> existing = JournalReader.segments(directory);
+            sequence = existing.isEmpty() ? 0 : JournalReader.sequenceOf(existing.get(existing.size() - 1));
+        }
+        sequence++;
+
+        Path file = directory.resolve(JournalReader.segmentName(sequence));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+
+        segment.putInt(JournalCodec.MAGIC).putInt(JournalCodec.VERSION);
+        log.info("Novo segmento do journal de transações: {}", file);
+
+        applyRetention();
+    }
+
+    private void applyRetention() throws IOException {
+        List<Path> segments = JournalReader.segments(directory);
+
+        for (int i = 0; i < segments.size() - retainedSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+            log.info("Segmento do journal removido pela retenção: {}", segments.get(i));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.destaxa.authorization.listener;
+
+import com.destaxa.authorization.service.AuthorizationReply;
+import com.destaxa.authorization.service.AuthorizationService;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.destaxa.authorization.listener.AuthorizationRequestListener.receiveTimer;
+import static com.destaxa.authorization.listener.AuthorizationRequestListener.toIsoBytes;
+
+/**
+ * Consome as requisições em lotes: decodifica, aplica as regras e codifica todo o lote, publica as respostas
+ * com uma única espera de confirmação e então confirma (ou rejeita) cada mensagem individualmente.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "spring.rabbitmq.listener.authorization-queue.batch.enabled", havingValue = "true")
+public class AuthorizationBatchListener {
+
+    private final AuthorizationService authorizationService;
+    private final Timer receiveTimer;
+
+    @Autowired
+    public AuthorizationBatchListener(AuthorizationService authorizationService, MeterRegistry meterRegistry,
+        @Value("${spring.rabbitmq.listener.authorization-queue.queue-name}") String queueName) {
+        this.authorizationService = authorizationService;
+        this.receiveTimer = receiveTimer(meterRegistry, queueName);
+    }
+
+    @RabbitListener(queues = "${spring.rabbitmq.listener.authorization-queue.queue-name}", containerFactory = "batchListenerContainerFactory")
+    public void onMessages(List<Message> isoMessages, Channel channel) throws IOException {
+        List<AuthorizationReply> replies = new ArrayList<>(isoMessages.size());
+        List<Long> published = new ArrayList<>(isoMessages.size());
+
+        for (Message isoMessage : isoMessages) {
+            MessageProperties properties = isoMessage.getMessageProperties();
+            long deliveryTag = properties.getDeliveryTag();
+            long start = System.nanoTime();
+
+            try {
+                AuthorizationReply reply = authorizationService.authorize(toIsoBytes(isoMessage.getBody()),
+                    properties.getReplyTo(), properties.getCorrelationId());
+
+                if (reply != null) {
+                    replies.add(reply);
+                    published.add(deliveryTag);
+                } else {
+                    channel.basicAck(deliveryTag, false);
+                }
+            } catch (RuntimeException e) {
+                log.error("Erro ao processar requisição de autorização do lote: {}", e.getMessage(), e);
+                channel.basicReject(deliveryTag, false);
+            } finally {
+                receiveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        boolean confirmed;
+        try {
+            authorizationService.sendResponses(replies);
+            confirmed = true;
+        } catch (RuntimeException e) {
+            log.error("Falha ao publicar lote de {} respostas, mensagens serão reentregues: {}", replies.size(), e.getMessage(), e);
+            confirmed = false;
+        }
+
+        for (long deliveryTag : published) {
+            if (confirmed) {
+                channel.basicAck(deliveryTag, false);
+            } else {
+                channel.basicNack(deliveryTag, false, true);
+            }
+        }
+
+        log.debug("Lote de {} requisições processado, {} respostas publicadas", isoMessages.size(), replies.size());
+    }
+}
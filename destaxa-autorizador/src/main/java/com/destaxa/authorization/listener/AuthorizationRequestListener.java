@@ -1,28 +1,73 @@
 package com.destaxa.authorization.listener;
 
 import com.destaxa.authorization.service.AuthorizationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @Component
 @Slf4j
+@ConditionalOnProperty(name = "spring.rabbitmq.listener.authorization-queue.batch.enabled", havingValue = "false", matchIfMissing = true)
 public class AuthorizationRequestListener {
 
     private final AuthorizationService authorizationService;
+    private final TaskExecutor deliveryExecutor;
+    private final Timer receiveTimer;
 
     @Autowired
-    public AuthorizationRequestListener(AuthorizationService authorizationService) {
+    public AuthorizationRequestListener(AuthorizationService authorizationService, @Qualifier("deliveryExecutor") TaskExecutor deliveryExecutor,
+        MeterRegistry meterRegistry, @Value("${spring.rabbitmq.listener.authorization-queue.queue-name}") String queueName) {
         this.authorizationService = authorizationService;
+        this.deliveryExecutor = deliveryExecutor;
+        this.receiveTimer = receiveTimer(meterRegistry, queueName);
     }
 
     @RabbitListener(queues = "${spring.rabbitmq.listener.authorization-queue.queue-name}")
-    public void onMessage(Message isoMessage) {
-        String messageContent = new String(isoMessage.getBody());
-        log.info("Mensagem ISO8583 recebida: {}", messageContent);
+    public CompletableFuture<Void> onMessage(Message isoMessage) {
+        return CompletableFuture.runAsync(() -> handle(isoMessage), deliveryExecutor);
+    }
+
+    private void handle(Message isoMessage) {
+        long start = System.nanoTime();
+        byte[] messageContent = toIsoBytes(isoMessage.getBody());
+
+        log.debug("Mensagem ISO8583 recebida ({} bytes)", messageContent.length);
+
+        try {
+            MessageProperties properties = isoMessage.getMessageProperties();
+            authorizationService.processAuthorizationRequest(messageContent, properties.getReplyTo(), properties.getCorrelationId());
+        } finally {
+            receiveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static Timer receiveTimer(MeterRegistry meterRegistry, String queueName) {
+        return Timer.builder("rabbitmq.receive")
+            .description("Processamento de uma mensagem recebida do RabbitMQ")
+            .tag("queue", queueName)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
 
-        authorizationService.processAuthorizationRequest(messageContent);
+    static byte[] toIsoBytes(byte[] body) {
+        for (byte b : body) {
+            if (b < 0) {
+                return new String(body, StandardCharsets.UTF_8).getBytes(StandardCharsets.ISO_8859_1);
+            }
+        }
+        return body;
     }
 }
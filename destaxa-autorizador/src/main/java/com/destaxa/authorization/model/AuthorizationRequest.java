@@ -5,7 +5,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
-import java.math.BigDecimal;
 
 @Data
 @AllArgsConstructor
@@ -13,7 +12,7 @@ import java.math.BigDecimal;
 public class AuthorizationRequest implements Serializable {
 
     private String externalId;
-    private BigDecimal value;
+    private Money value;
     private String cardNumber;
     private String processingCode;
     private String transmissionDateTime;
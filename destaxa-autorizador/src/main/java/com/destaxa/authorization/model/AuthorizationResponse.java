@@ -5,7 +5,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
-import java.math.BigDecimal;
 
 @Data
 @AllArgsConstructor
@@ -13,7 +12,7 @@ import java.math.BigDecimal;
 public class AuthorizationResponse implements Serializable {
 
     private String paymentId;
-    private BigDecimal value;
+    private Money value;
     private String responseCode;
     private String authorizationCode;
     private String nsu;
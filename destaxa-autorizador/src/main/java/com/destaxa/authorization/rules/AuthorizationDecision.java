@@ -0,0 +1,14 @@
+package com.destaxa.authorization.rules;
+
+import com.destaxa.authorization.model.AuthorizationResponse;
+
+public record AuthorizationDecision(AuthorizationResponse response, long delayMillis) {
+
+    public static AuthorizationDecision immediate(AuthorizationResponse response) {
+        return new AuthorizationDecision(response, 0);
+    }
+
+    public boolean isDelayed() {
+        return delayMillis > 0;
+    }
+}
@@ -1,20 +1,52 @@
 package com.destaxa.authorization.rules;
 
+import com.destaxa.authorization.bin.BinLookup;
+import com.destaxa.authorization.id.IdGenerator;
 import com.destaxa.authorization.model.AuthorizationRequest;
 import com.destaxa.authorization.model.AuthorizationResponse;
+import com.destaxa.authorization.velocity.VelocityStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Aplica a {@link RuleChain} vigente a cada requisição. A cadeia pode ser trocada a qualquer momento com
+ * {@link #replace(List)}: a nova versão é compilada à parte e publicada com uma única escrita volátil, sem
+ * bloquear as avaliações em andamento.
+ */
 @Component
 @Slf4j
 public class AuthorizationRules {
 
-    private static final BigDecimal TRANSACTION_LIMIT = BigDecimal.valueOf(1000);
+    private final VelocityStore velocityStore;
+    private final RuleDependencies dependencies;
+    private final IdGenerator idGenerator;
+    private final MeterRegistry meterRegistry;
+    private volatile RuleChain chain;
 
-    public AuthorizationResponse apply(AuthorizationRequest request, String paymentId) {
+    @Autowired
+    public AuthorizationRules(RuleSetLoader ruleSetLoader, VelocityStore velocityStore, BinLookup binLookup,
+        IdGenerator idGenerator, MeterRegistry meterRegistry) {
+        this(ruleSetLoader.load(), velocityStore, binLookup, idGenerator, meterRegistry);
+    }
+
+    public AuthorizationRules(List<RuleDefinition> definitions, VelocityStore velocityStore, BinLookup binLookup,
+        IdGenerator idGenerator, MeterRegistry meterRegistry) {
+        this.velocityStore = velocityStore;
+        this.idGenerator = idGenerator;
+        this.dependencies = new RuleDependencies(velocityStore, binLookup);
+        this.meterRegistry = meterRegistry;
+        this.chain = RuleChain.compile(definitions, 1, dependencies, meterRegistry);
+        log.info("Regras de autorização carregadas (versão 1): {}", names(chain));
+    }
+
+    public AuthorizationDecision apply(AuthorizationRequest request, String paymentId) {
         AuthorizationResponse response = new AuthorizationResponse();
 
         response.setTransmissionDateTime(request.getTransmissionDateTime());
@@ -26,33 +58,76 @@ public class AuthorizationRules {
         response.setExternalId(request.getExternalId());
         response.setNsu(request.getNsu());
 
-        if (request.getValue().compareTo(BigDecimal.ZERO) > 0) {
-            if (request.getValue().compareTo(TRANSACTION_LIMIT) > 0) {
-                simulateTimeout(response);
-            } else {
-                response.setResponseCode("000");
-                response.setAuthorizationCode(generateAuthorizationCode());
+        CompiledRule declinedBy = chain.evaluate(request);
+
+        if (declinedBy == null) {
+            response.setResponseCode("000");
+            response.setAuthorizationCode(idGenerator.authorizationCode());
+            velocityStore.record(request.getCardNumber(), request.getValue() != null ? request.getValue().minorUnits() : 0);
+            return AuthorizationDecision.immediate(response);
+        }
+
+        response.setResponseCode(declinedBy.responseCode());
+        return new AuthorizationDecision(response, declinedBy.delayMillis());
+    }
+
+    /**
+     * Compila e publica uma nova versão da cadeia. Se alguma definição for inválida, ou a lista estiver vazia, a
+     * versão atual é mantida.
+     *
+     * @return a versão publicada
+     */
+    public synchronized long replace(List<RuleDefinition> definitions) {
+        RuleChain previous = chain;
+        RuleChain next = RuleChain.compile(definitions, previous.version() + 1, dependencies, meterRegistry);
+        chain = next;
+
+        for (CompiledRule rule : previous.rules()) {
+            if (!contains(next, rule.name())) {
+                rule.unregister(meterRegistry);
             }
-        } else {
-            response.setResponseCode("051");
         }
 
-        return response;
+        log.info("Regras de autorização substituídas (versão {}): {}", next.version(), names(next));
+        return next.version();
+    }
+
+    public long version() {
+        return chain.version();
     }
 
-    private void simulateTimeout(AuthorizationResponse response) {
-        try {
-            Thread.sleep(5000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("Erro durante o timeout simulado: {}", e.getMessage(), e);
+    /**
+     * Resumo da cadeia vigente, com as recusas acumuladas por regra.
+     */
+    public Map<String, Object> describe() {
+        RuleChain current = chain;
+        Map<String, Object> rules = new LinkedHashMap<>();
+
+        for (CompiledRule rule : current.rules()) {
+            rules.put(rule.name(), Map.of(
+                "type", rule.type(),
+                "responseCode", rule.responseCode(),
+                "delay", rule.delayMillis(),
+                "hits", rule.hits()));
         }
 
-        response.setResponseCode("051");
+        return Map.of("version", current.version(), "rules", rules);
     }
 
+    private static boolean contains(RuleChain chain, String name) {
+        for (CompiledRule rule : chain.rules()) {
+            if (rule.name().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-    private String generateAuthorizationCode() {
-        return UUID.randomUUID().toString().substring(0, 6);
+    private static List<String> names(RuleChain chain) {
+        List<String> names = new ArrayList<>();
+        for (CompiledRule rule : chain.rules()) {
+            names.add(rule.name());
+        }
+        return names;
     }
-}
\ No newline at end of file
+}
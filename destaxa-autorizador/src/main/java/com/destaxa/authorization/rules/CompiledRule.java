@@ -0,0 +1,201 @@
+package com.destaxa.authorization.rules;
+
+import com.destaxa.authorization.bin.BinLookup;
+import com.destaxa.authorization.bin.BinRange;
+import com.destaxa.authorization.model.AuthorizationRequest;
+import com.destaxa.authorization.model.Money;
+import com.destaxa.authorization.velocity.VelocityStore;
+import com.destaxa.authorization.velocity.VelocityWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regra já validada e convertida para tipos primitivos, pronta para ser avaliada sem alocações. As métricas são
+ * registradas por {@link #register} só depois que a cadeia inteira compila, para que uma cadeia inválida não deixe
+ * medidores órfãos.
+ */
+final class CompiledRule {
+
+    private final String name;
+    private final RuleType type;
+    private final long amount;
+    private final int limit;
+    private final String[] values;
+    private final VelocityWindow window;
+    private final VelocityStore velocityStore;
+    private final BinLookup binLookup;
+    private final String responseCode;
+    private final long delayMillis;
+    private Counter hits;
+    private Timer evaluation;
+
+    private CompiledRule(RuleDefinition definition, String name, long amount, int limit, String[] values,
+        RuleDependencies dependencies) {
+        this.name = name;
+        this.type = definition.type();
+        this.amount = amount;
+        this.limit = limit;
+        this.values = values;
+        this.window = definition.window();
+        this.velocityStore = dependencies.velocityStore();
+        this.binLookup = dependencies.binLookup();
+        this.responseCode = definition.responseCode();
+        this.delayMillis = definition.delay() != null ? definition.delay() : 0;
+    }
+
+    static CompiledRule compile(RuleDefinition definition, int position, RuleDependencies dependencies) {
+        if (definition.type() == null) {
+            throw new IllegalArgumentException("Regra na posição " + position + " sem tipo.");
+        }
+
+        String name = definition.name() != null && !definition.name().isBlank()
+            ? definition.name() : definition.type().name().toLowerCase() + "-" + position;
+
+        if (definition.responseCode() == null || definition.responseCode().length() != 3) {
+            throw new IllegalArgumentException("Regra '" + name + "' com código de resposta inválido: " + definition.responseCode());
+        }
+        if (definition.delay() != null && definition.delay() < 0) {
+            throw new IllegalArgumentException("Regra '" + name + "' com atraso negativo.");
+        }
+
+        long amount = 0;
+        int limit = 0;
+        String[] values = null;
+
+        switch (definition.type()) {
+            case MIN_AMOUNT, MAX_AMOUNT -> {
+                if (definition.amount() == null) {
+                    throw new IllegalArgumentException("Regra '" + name + "' sem valor (amount).");
+                }
+                amount = Money.of(definition.amount()).minorUnits();
+            }
+            case ENTRY_MODE, PROCESSING_CODE -> {
+                List<String> allowed = definition.values();
+                if (allowed == null || allowed.isEmpty()) {
+                    throw new IllegalArgumentException("Regra '" + name + "' sem valores permitidos (values).");
+                }
+                values = allowed.toArray(String[]::new);
+            }
+            case MAX_INSTALLMENTS -> {
+                if (definition.limit() == null || definition.limit() < 0) {
+                    throw new IllegalArgumentException("Regra '" + name + "' sem limite de parcelas (limit).");
+                }
+                limit = definition.limit();
+            }
+            case VELOCITY_COUNT -> {
+                checkWindow(definition, name);
+                if (definition.limit() == null || definition.limit() <= 0) {
+                    throw new IllegalArgumentException("Regra '" + name + "' sem limite de transações (limit).");
+                }
+                limit = definition.limit();
+            }
+            case VELOCITY_AMOUNT -> {
+                checkWindow(definition, name);
+                if (definition.amount() == null) {
+                    throw new IllegalArgumentException("Regra '" + name + "' sem valor (amount).");
+                }
+                amount = Money.of(definition.amount()).minorUnits();
+            }
+            case BIN_LIMIT, BIN_UNKNOWN -> {
+            }
+        }
+
+        return new CompiledRule(definition, name, amount, limit, values, dependencies);
+    }
+
+    private static void checkWindow(RuleDefinition definition, String name) {
+        if (definition.window() == null) {
+            throw new IllegalArgumentException("Regra '" + name + "' sem janela (window).");
+        }
+    }
+
+    /**
+     * @return {@code true} quando a regra recusa a transação
+     */
+    boolean matches(AuthorizationRequest request) {
+        long start = System.nanoTime();
+        boolean matched = test(request);
+        evaluation.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (matched) {
+            hits.increment();
+        }
+        return matched;
+    }
+
+    private boolean test(AuthorizationRequest request) {
+        return switch (type) {
+            case MIN_AMOUNT -> minorUnits(request) < amount;
+            case MAX_AMOUNT -> minorUnits(request) > amount;
+            case ENTRY_MODE -> !contains(request.getEntryMode());
+            case PROCESSING_CODE -> !contains(request.getProcessingCode());
+            case MAX_INSTALLMENTS -> request.getInstallments() != null && request.getInstallments() > limit;
+            case VELOCITY_COUNT -> velocityStore.count(request.getCardNumber(), window) + 1 > limit;
+            case VELOCITY_AMOUNT ->
+                velocityStore.amount(request.getCardNumber(), window) + minorUnits(request) > amount;
+            case BIN_LIMIT -> exceedsIssuerLimit(request);
+            case BIN_UNKNOWN -> binLookup.lookup(request.getCardNumber()) == null;
+        };
+    }
+
+    private boolean exceedsIssuerLimit(AuthorizationRequest request) {
+        BinRange range = binLookup.lookup(request.getCardNumber());
+        return range != null && range.hasLimit() && minorUnits(request) > range.maxAmount();
+    }
+
+    private boolean contains(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (String allowed : values) {
+            if (allowed.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long minorUnits(AuthorizationRequest request) {
+        return request.getValue() != null ? request.getValue().minorUnits() : 0;
+    }
+
+    String name() {
+        return name;
+    }
+
+    RuleType type() {
+        return type;
+    }
+
+    String responseCode() {
+        return responseCode;
+    }
+
+    long delayMillis() {
+        return delayMillis;
+    }
+
+    long hits() {
+        return (long) hits.count();
+    }
+
+    void register(MeterRegistry meterRegistry) {
+        hits = Counter.builder("authorization.rules.hits")
+            .description("Transações recusadas pela regra")
+            .tag("rule", name)
+            .register(meterRegistry);
+        evaluation = Timer.builder("authorization.rules.evaluation")
+            .description("Avaliação de uma regra de autorização")
+            .tag("rule", name)
+            .register(meterRegistry);
+    }
+
+    void unregister(MeterRegistry meterRegistry) {
+        meterRegistry.remove(hits);
+        meterRegistry.remove(evaluation);
+    }
+}
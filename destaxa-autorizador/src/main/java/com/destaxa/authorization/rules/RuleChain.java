@@ -0,0 +1,66 @@
+package com.destaxa.authorization.rules;
+
+import com.destaxa.authorization.model.AuthorizationRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+
+/**
+ * Cadeia ordenada de regras: a primeira regra que recusa a transação encerra a avaliação.
+ * Instâncias são imutáveis; uma nova versão da cadeia substitui a anterior por inteiro.
+ */
+final class RuleChain {
+
+    private final CompiledRule[] rules;
+    private final long version;
+
+    private RuleChain(CompiledRule[] rules, long version) {
+        this.rules = rules;
+        this.version = version;
+    }
+
+    static RuleChain compile(List<RuleDefinition> definitions, long version, RuleDependencies dependencies,
+        MeterRegistry meterRegistry) {
+        if (definitions == null || definitions.isEmpty()) {
+            throw new IllegalArgumentException("Cadeia de regras vazia");
+        }
+
+        CompiledRule[] rules = new CompiledRule[definitions.size()];
+
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = CompiledRule.compile(definitions.get(i), i, dependencies);
+
+            for (int j = 0; j < i; j++) {
+                if (rules[j].name().equals(rules[i].name())) {
+                    throw new IllegalArgumentException("Nome de regra duplicado: " + rules[i].name());
+                }
+            }
+        }
+
+        for (CompiledRule rule : rules) {
+            rule.register(meterRegistry);
+        }
+
+        return new RuleChain(rules, version);
+    }
+
+    /**
+     * @return a regra que recusou a transação, ou {@code null} quando nenhuma regra a recusou
+     */
+    CompiledRule evaluate(AuthorizationRequest request) {
+        for (CompiledRule rule : rules) {
+            if (rule.matches(request)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    CompiledRule[] rules() {
+        return rules;
+    }
+
+    long version() {
+        return version;
+    }
+}
@@ -0,0 +1,17 @@
+package com.destaxa.authorization.rules;
+
+import com.destaxa.authorization.velocity.VelocityWindow;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Definição de uma regra como lida da configuração ({@code authorization.rules.chain}).
+ *
+ * @param responseCode código de resposta (campo 39) devolvido quando a regra recusa a transação
+ * @param delay        atraso, em ms, no envio da resposta da recusa
+ * @param window       janela das regras de velocidade ({@code VELOCITY_COUNT}, {@code VELOCITY_AMOUNT})
+ */
+public record RuleDefinition(String name, RuleType type, BigDecimal amount, Integer limit, List<String> values,
+                             String responseCode, Long delay, VelocityWindow window) {
+}
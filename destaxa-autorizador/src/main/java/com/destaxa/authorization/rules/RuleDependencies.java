@@ -0,0 +1,10 @@
+package com.destaxa.authorization.rules;
+
+import com.destaxa.authorization.bin.BinLookup;
+import com.destaxa.authorization.velocity.VelocityStore;
+
+/**
+ * Estruturas consultadas pelas regras que dependem de estado além da própria requisição.
+ */
+record RuleDependencies(VelocityStore velocityStore, BinLookup binLookup) {
+}
@@ -0,0 +1,71 @@
+package com.destaxa.authorization.rules;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Lê as definições de {@code authorization.rules.chain}. Quando {@code authorization.rules.location} aponta para
+ * um arquivo YAML, as regras são lidas dele (com a mesma estrutura do {@code application.yaml}), o que permite
+ * alterá-las e recarregá-las sem reiniciar a aplicação.
+ */
+@Component
+public class RuleSetLoader {
+
+    private static final String CHAIN_PROPERTY = "authorization.rules.chain";
+
+    private final Environment environment;
+    private final ResourceLoader resourceLoader;
+    private final String location;
+
+    public RuleSetLoader(Environment environment, ResourceLoader resourceLoader,
+        @Value("${authorization.rules.location:}") String location) {
+        this.environment = environment;
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    /**
+     * @throws IllegalArgumentException quando {@code authorization.rules.chain} está ausente ou vazio: uma cadeia
+     *                                  sem regras aprovaria todas as transações
+     */
+    public List<RuleDefinition> load() {
+        Binder binder = location.isBlank() ? Binder.get(environment) : new Binder(ConfigurationPropertySources.from(readLocation()));
+        List<RuleDefinition> definitions = binder.bind(CHAIN_PROPERTY, Bindable.listOf(RuleDefinition.class)).orElse(List.of());
+
+        if (definitions.isEmpty()) {
+            String source = location.isBlank() ? "configuração da aplicação" : location;
+            throw new IllegalArgumentException("Nenhuma regra em " + CHAIN_PROPERTY + " (" + source + ")");
+        }
+        return definitions;
+    }
+
+    public String location() {
+        return location;
+    }
+
+    private List<PropertySource<?>> readLocation() {
+        Resource resource = resourceLoader.getResource(location);
+
+        if (!resource.exists()) {
+            throw new IllegalArgumentException("Arquivo de regras não encontrado: " + location);
+        }
+
+        try {
+            return new YamlPropertySourceLoader().load(location, resource);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler arquivo de regras " + location, e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.destaxa.authorization.rules;
+
+/**
+ * Tipos de regra suportados pela {@link RuleChain}. Cada regra recusa a transação quando a condição descrita é
+ * verdadeira.
+ */
+public enum RuleType {
+
+    /** Valor menor que {@code amount}. */
+    MIN_AMOUNT,
+
+    /** Valor maior que {@code amount}. */
+    MAX_AMOUNT,
+
+    /** Modo de entrada (campo 22) fora de {@code values}. */
+    ENTRY_MODE,
+
+    /** Código de processamento (campo 3) fora de {@code values}. */
+    PROCESSING_CODE,
+
+    /** Quantidade de parcelas (campo 67) maior que {@code limit}. */
+    MAX_INSTALLMENTS,
+
+    /** Mais de {@code limit} transações aprovadas no cartão na janela {@code window}, contando a atual. */
+    VELOCITY_COUNT,
+
+    /** Valor aprovado no cartão na janela {@code window}, somado ao atual, maior que {@code amount}. */
+    VELOCITY_AMOUNT,
+
+    /** Valor maior que o limite do emissor na tabela de BIN. */
+    BIN_LIMIT,
+
+    /** PAN fora de todas as faixas da tabela de BIN. */
+    BIN_UNKNOWN
+}
@@ -0,0 +1,29 @@
+package com.destaxa.authorization.rules;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "rules")
+@RequiredArgsConstructor
+public class RulesEndpoint {
+
+    private final AuthorizationRules authorizationRules;
+    private final RuleSetLoader ruleSetLoader;
+
+    @ReadOperation
+    public Map<String, Object> rules() {
+        return authorizationRules.describe();
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() {
+        authorizationRules.replace(ruleSetLoader.load());
+        return rules();
+    }
+}
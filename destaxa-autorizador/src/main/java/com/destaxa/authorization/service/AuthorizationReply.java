@@ -0,0 +1,4 @@
+package com.destaxa.authorization.service;
+
+public record AuthorizationReply(String replyQueue, String correlationId, String isoResponse) {
+}
@@ -1,19 +1,32 @@
 package com.destaxa.authorization.service;
 
 import com.destaxa.authorization.exception.ISOFormatException;
+import com.destaxa.authorization.id.IdGenerator;
 import com.destaxa.authorization.iso.ISO8583Processor;
+import com.destaxa.authorization.journal.JournalRecord;
+import com.destaxa.authorization.journal.TransactionJournal;
+import com.destaxa.authorization.metrics.ResponseCodeCounters;
 import com.destaxa.authorization.model.AuthorizationRequest;
 import com.destaxa.authorization.model.AuthorizationResponse;
+import com.destaxa.authorization.model.Money;
+import com.destaxa.authorization.rules.AuthorizationDecision;
 import com.destaxa.authorization.rules.AuthorizationRules;
+import com.destaxa.authorization.transport.ReplyTransport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.jpos.iso.ISOException;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static com.destaxa.authorization.iso.ISO8583Processor.*;
 
@@ -22,37 +35,134 @@ import static com.destaxa.authorization.iso.ISO8583Processor.*;
 public class AuthorizationService {
 
     private final ISO8583Processor iso8583Processor;
-    private final RabbitTemplate rabbitTemplate;
+    private final ReplyTransport replyTransport;
     private final String responseQueueName;
     private final AuthorizationRules authorizationRules;
+    private final TaskScheduler delayedResponseScheduler;
+    private final ResponseCodeCounters responseCodeCounters;
+    private final TransactionJournal transactionJournal;
+    private final IdGenerator idGenerator;
+    private final Timer rulesTimer;
 
-    public AuthorizationService(ISO8583Processor iso8583Processor, RabbitTemplate rabbitTemplate,
+    public AuthorizationService(ISO8583Processor iso8583Processor, ReplyTransport replyTransport,
         @Value("${spring.rabbitmq.template.default-receive-queue}") String responseQueueName,
-        AuthorizationRules authorizationRules) {
+        AuthorizationRules authorizationRules, @Qualifier("delayedResponseScheduler") TaskScheduler delayedResponseScheduler,
+        ResponseCodeCounters responseCodeCounters, TransactionJournal transactionJournal, IdGenerator idGenerator,
+        MeterRegistry meterRegistry) {
         this.iso8583Processor = iso8583Processor;
-        this.rabbitTemplate = rabbitTemplate;
+        this.replyTransport = replyTransport;
         this.responseQueueName = responseQueueName;
         this.authorizationRules = authorizationRules;
+        this.delayedResponseScheduler = delayedResponseScheduler;
+        this.responseCodeCounters = responseCodeCounters;
+        this.transactionJournal = transactionJournal;
+        this.idGenerator = idGenerator;
+
+        this.rulesTimer = Timer.builder("authorization.rules")
+            .description("Aplicação das regras de autorização")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
 
     public void processAuthorizationRequest(String isoMessage) {
+        processAuthorizationRequest(isoMessage, null, null);
+    }
+
+    public void processAuthorizationRequest(String isoMessage, String replyTo, String correlationId) {
+        processAuthorizationRequest(isoMessage.getBytes(StandardCharsets.ISO_8859_1), replyTo, correlationId);
+    }
+
+    public void processAuthorizationRequest(byte[] isoMessage, String replyTo, String correlationId) {
+        AuthorizationReply reply = authorize(isoMessage, replyTo, correlationId);
+
+        if (reply != null) {
+            replyTransport.send(reply);
+        }
+    }
+
+    /**
+     * Decodifica a requisição, aplica as regras e codifica a resposta sem publicá-la.
+     *
+     * @return a resposta a ser enviada, ou {@code null} quando a decisão foi agendada para envio posterior
+     */
+    public AuthorizationReply authorize(byte[] isoMessage, String replyTo, String correlationId) {
+        String replyQueue = replyTo != null && !replyTo.isBlank() ? replyTo : responseQueueName;
+        EncodedDecision decision = decide(isoMessage);
+
+        if (decision == null) {
+            return null;
+        }
+
+        AuthorizationReply reply = new AuthorizationReply(replyQueue, correlationId, decision.isoResponse());
+
+        if (decision.delayMillis() > 0) {
+            delayedResponseScheduler.schedule(() -> replyTransport.send(reply),
+                Instant.now().plusMillis(decision.delayMillis()));
+            return null;
+        }
+
+        return reply;
+    }
+
+    /**
+     * Decodifica a requisição, aplica as regras e entrega a resposta codificada ao {@code responder}: na própria
+     * thread ou, quando a decisão é atrasada, pelo agendador. Usado pelos canais que não passam pelo RabbitMQ.
+     *
+     * @return {@code false} quando não há resposta a enviar (nem a de erro pôde ser codificada) e o {@code responder}
+     * não será chamado
+     */
+    public boolean authorize(byte[] isoMessage, Consumer<String> responder) {
+        EncodedDecision decision = decide(isoMessage);
+
+        if (decision == null) {
+            return false;
+        }
+
+        if (decision.delayMillis() > 0) {
+            delayedResponseScheduler.schedule(() -> responder.accept(decision.isoResponse()),
+                Instant.now().plusMillis(decision.delayMillis()));
+        } else {
+            responder.accept(decision.isoResponse());
+        }
+        return true;
+    }
+
+    private EncodedDecision decide(byte[] isoMessage) {
         try {
             AuthorizationRequest request = iso8583Processor.fromIso8583(isoMessage);
 
-            String paymentId = UUID.randomUUID().toString();
+            String paymentId = idGenerator.paymentId();
+
+            long rulesStart = System.nanoTime();
+            AuthorizationDecision decision = authorizationRules.apply(request, paymentId);
+            rulesTimer.record(System.nanoTime() - rulesStart, TimeUnit.NANOSECONDS);
 
-            AuthorizationResponse response = authorizationRules.apply(request, paymentId);
+            responseCodeCounters.increment(decision.response().getResponseCode());
+            transactionJournal.append(JournalRecord.of(request, decision.response(), decision.delayMillis()));
 
-            String isoResponse = iso8583Processor.toIso8583(response);
-            rabbitTemplate.convertAndSend(responseQueueName, isoResponse);
+            return new EncodedDecision(iso8583Processor.toIso8583(decision.response()), decision.delayMillis());
 
         } catch (ISOFormatException | ISOException e) {
-            log.error("Erro ao processar requisição de autorização ISO {}: {}", isoMessage, e.getMessage(), e);
-            sendErrorResponse();
+            // A mensagem original não é registrada: pode conter o PAN
+            String nsu = readNsu(isoMessage);
+            String paymentId = idGenerator.paymentId();
+            log.error("Erro ao processar requisição de autorização ISO (NSU {}, {} bytes): {}", nsu, isoMessage.length, e.getMessage(), e);
+            responseCodeCounters.increment("999");
+            transactionJournal.append(JournalRecord.rejected(paymentId, nsu, "999"));
+
+            String errorResponse = errorResponse(paymentId, nsu);
+            return errorResponse == null ? null : new EncodedDecision(errorResponse, 0);
         }
     }
 
-    private void sendErrorResponse() {
+    /**
+     * Envia as respostas de um lote; com o RabbitMQ, em um único canal e com uma única espera de confirmação.
+     */
+    public void sendResponses(List<AuthorizationReply> replies) {
+        replyTransport.sendAll(replies);
+    }
+
+    private String errorResponse(String paymentId, String nsu) {
         try {
             LocalDateTime now = LocalDateTime.now();
             AuthorizationResponse errorResponse = new AuthorizationResponse();
@@ -61,17 +171,32 @@ public class AuthorizationService {
             errorResponse.setLocalTransactionTime(now.format(TIME_FORMATTER));
             errorResponse.setLocalTransactionDate(now.format(DATE_FORMATTER));
 
-            errorResponse.setPaymentId(UUID.randomUUID().toString());
-            errorResponse.setValue(BigDecimal.ZERO);
+            errorResponse.setPaymentId(paymentId);
+            errorResponse.setValue(Money.ZERO);
             errorResponse.setExternalId(" ");
-            errorResponse.setNsu(" ");
+            errorResponse.setNsu(nsu);
 
-            String isoErrorResponse = iso8583Processor.toIso8583(errorResponse);
-
-            rabbitTemplate.convertAndSend(responseQueueName, isoErrorResponse);
+            return iso8583Processor.toIso8583(errorResponse);
 
         } catch (ISOException ex) {
             log.error("Erro ao converter/enviar resposta de erro para ISO8583: {}", ex.getMessage(), ex);
+            return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Preserva o STAN da requisição na resposta de erro quando o bitmap ainda pode ser lido, para que o cliente
+     * consiga associá-la à requisição original.
+     */
+    private String readNsu(byte[] isoMessage) {
+        try {
+            String nsu = iso8583Processor.view(isoMessage).getString(FIELD_NSU);
+            return nsu != null ? nsu : " ";
+        } catch (ISOFormatException | RuntimeException e) {
+            return " ";
+        }
+    }
+
+    private record EncodedDecision(String isoResponse, long delayMillis) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.destaxa.authorization.transport;
+
+import com.destaxa.authorization.service.AuthorizationReply;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * Entrega as respostas diretamente à fila de entrada da API na mesma JVM, sem broker.
+ * <p>
+ * O destino é o bean {@value #PEER_BEAN}, registrado pelo destaxa-standalone, que recebe o correlation id e a
+ * mensagem ISO8583 codificada em ISO-8859-1 e retorna {@code false} quando a fila da API está cheia. A fila de
+ * resposta ({@code reply-to}) não se aplica: há uma única API no processo.
+ */
+@Component
+@ConditionalOnProperty(name = "authorization.transport.type", havingValue = "IN_PROCESS")
+public class InProcessReplyTransport implements ReplyTransport {
+
+    public static final String PEER_BEAN = "inProcessPeer";
+
+    private final BiPredicate<String, byte[]> peer;
+    private final Counter rejectedCounter;
+
+    public InProcessReplyTransport(@Qualifier(PEER_BEAN) ObjectProvider<BiPredicate<String, byte[]>> peer,
+        MeterRegistry meterRegistry) {
+        this.peer = peer.getIfAvailable();
+
+        if (this.peer == null) {
+            throw new IllegalStateException("Transporte in-process requer a API na mesma JVM (bean " + PEER_BEAN
+                + "), iniciada pelo destaxa-standalone");
+        }
+
+        this.rejectedCounter = Counter.builder("authorization.inprocess.rejected")
+            .description("Mensagens recusadas por fila in-process cheia")
+            .tag("ring", "responses")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @throws IllegalStateException quando a fila de entrada da API está cheia
+     */
+    @Override
+    public void send(AuthorizationReply reply) {
+        if (!peer.test(reply.correlationId(), reply.isoResponse().getBytes(StandardCharsets.ISO_8859_1))) {
+            rejectedCounter.increment();
+            throw new IllegalStateException("Fila in-process da API cheia, resposta " + reply.correlationId() + " descartada");
+        }
+    }
+
+    @Override
+    public void sendAll(List<AuthorizationReply> replies) {
+        for (AuthorizationReply reply : replies) {
+            send(reply);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.destaxa.authorization.transport;
+
+import com.destaxa.authorization.service.AuthorizationService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fila de entrada das requisições da API no transporte in-process. A API enfileira por {@link #accept};
+ * {@code consumers} threads retiram as requisições e as processam pelo {@link AuthorizationService}, que responde
+ * pelo {@link InProcessReplyTransport}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "authorization.transport.type", havingValue = "IN_PROCESS")
+public class InProcessRequestListener implements SmartLifecycle {
+
+    private final AuthorizationService authorizationService;
+    private final MessageRing requests;
+    private final int consumers;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public InProcessRequestListener(AuthorizationService authorizationService, MeterRegistry meterRegistry,
+        @Value("${authorization.transport.in-process.capacity}") int capacity,
+        @Value("${authorization.transport.in-process.consumers}") int consumers) {
+        if (consumers <= 0) {
+            throw new IllegalArgumentException("Quantidade de consumidores in-process deve ser positiva");
+        }
+
+        this.authorizationService = authorizationService;
+        this.requests = new MessageRing(capacity);
+        this.consumers = consumers;
+
+        Gauge.builder("authorization.inprocess.queue.size", requests, MessageRing::size)
+            .tag("ring", "requests")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Enfileira uma requisição codificada em ISO-8859-1.
+     *
+     * @return {@code false} quando a fila está cheia
+     */
+    public boolean accept(String correlationId, byte[] isoMessage) {
+        return requests.offer(correlationId, isoMessage);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+
+        for (int i = 0; i < consumers; i++) {
+            Thread thread = new Thread(() -> requests.consume(this::isRunning, this::handle), "inprocess-requests-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+
+        log.info("Transporte in-process: {} consumidores de requisições, fila de {} posições", consumers, requests.capacity());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+
+        for (Thread thread : threads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        threads.clear();
+
+        if (requests.size() > 0) {
+            log.warn("{} requisições descartadas da fila in-process no encerramento", requests.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void handle(String correlationId, byte[] isoMessage) {
+        try {
+            authorizationService.processAuthorizationRequest(isoMessage, null, correlationId);
+        } catch (RuntimeException e) {
+            log.error("Erro ao processar requisição recebida pelo transporte in-process: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.destaxa.authorization.transport;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Fila circular limitada de mensagens ISO8583 com o correlation id, com as posições alocadas na criação.
+ * <p>
+ * Cada posição tem um número de sequência que indica se está livre para o produtor da volta atual ou preenchida para
+ * o consumidor: produtores e consumidores reservam posições com um único CAS no cursor correspondente e nunca
+ * bloqueiam. Com a fila cheia {@link #offer} retorna {@code false} imediatamente. Um produtor só acorda os
+ * consumidores quando algum deles anunciou que vai dormir.
+ */
+final class MessageRing {
+
+    private static final int SPIN_LIMIT = 100;
+    private static final int YIELD_LIMIT = SPIN_LIMIT + 10;
+    private static final long MIN_PARK_NANOS = 50_000;
+    private static final long MAX_PARK_NANOS = 4_000_000;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final String[] correlationIds;
+    private final byte[][] payloads;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicInteger sleepers = new AtomicInteger();
+    private final List<Thread> consumers = new CopyOnWriteArrayList<>();
+
+    MessageRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacidade da fila in-process deve ser potência de 2: " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.correlationIds = new String[capacity];
+        this.payloads = new byte[capacity][];
+
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return {@code false} quando a fila está cheia
+     */
+    boolean offer(String correlationId, byte[] payload) {
+        long position = tail.get();
+
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    correlationIds[index] = correlationId;
+                    payloads[index] = payload;
+                    sequences.set(index, position + 1);
+
+                    if (sleepers.get() > 0) {
+                        wakeConsumers();
+                    }
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Retira a próxima mensagem e a entrega ao {@code handler}.
+     *
+     * @return {@code false} quando a fila está vazia
+     */
+    boolean poll(BiConsumer<String, byte[]> handler) {
+        long position = head.get();
+
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    String correlationId = correlationIds[index];
+                    byte[] payload = payloads[index];
+                    correlationIds[index] = null;
+                    payloads[index] = null;
+                    sequences.set(index, position + capacity);
+
+                    handler.accept(correlationId, payload);
+                    return true;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Laço de um consumidor: entrega as mensagens enquanto {@code running} for verdadeiro e, com a fila vazia, gira,
+     * cede a CPU e por fim dorme até que um produtor o acorde. A espera começa em 50µs e dobra a cada volta sem
+     * mensagens até 4ms, só como garantia contra um despertar perdido; a primeira mensagem entregue volta à espera
+     * ativa.
+     */
+    void consume(BooleanSupplier running, BiConsumer<String, byte[]> handler) {
+        int idle = 0;
+        long parkNanos = MIN_PARK_NANOS;
+        Thread consumer = Thread.currentThread();
+        consumers.add(consumer);
+
+        try {
+            while (running.getAsBoolean()) {
+                if (poll(handler)) {
+                    idle = 0;
+                    parkNanos = MIN_PARK_NANOS;
+                } else if (idle < SPIN_LIMIT) {
+                    idle++;
+                    Thread.onSpinWait();
+                } else if (idle < YIELD_LIMIT) {
+                    idle++;
+                    Thread.yield();
+                } else {
+                    // anuncia antes de conferir a fila, para que o produtor que publicar em seguida veja o anúncio
+                    sleepers.incrementAndGet();
+                    if (size() == 0) {
+                        LockSupport.parkNanos(parkNanos);
+                        parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+                    }
+                    sleepers.decrementAndGet();
+                }
+            }
+        } finally {
+            consumers.remove(consumer);
+        }
+    }
+
+    private void wakeConsumers() {
+        for (Thread consumer : consumers) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
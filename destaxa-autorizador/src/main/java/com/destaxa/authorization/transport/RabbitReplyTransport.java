@@ -0,0 +1,86 @@
+package com.destaxa.authorization.transport;
+
+import com.destaxa.authorization.service.AuthorizationReply;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica as respostas na fila indicada no {@code reply-to} da requisição, com o correlation id recebido.
+ */
+@Component
+@ConditionalOnProperty(name = "authorization.transport.type", havingValue = "RABBITMQ", matchIfMissing = true)
+public class RabbitReplyTransport implements ReplyTransport {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final long confirmTimeout;
+    private final Timer publishTimer;
+    private final Timer publishBatchTimer;
+
+    public RabbitReplyTransport(RabbitTemplate rabbitTemplate,
+        @Value("${spring.rabbitmq.template.default-receive-queue}") String responseQueueName,
+        @Value("${spring.rabbitmq.listener.authorization-queue.batch.confirm-timeout}") long confirmTimeout,
+        MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.confirmTimeout = confirmTimeout;
+
+        this.publishTimer = Timer.builder("rabbitmq.publish")
+            .description("Publicação de mensagens no RabbitMQ")
+            .tag("queue", responseQueueName)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.publishBatchTimer = Timer.builder("rabbitmq.publish.batch")
+            .description("Publicação de um lote de respostas, incluindo a espera pela confirmação do broker")
+            .tag("queue", responseQueueName)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void send(AuthorizationReply reply) {
+        long start = System.nanoTime();
+        publish(rabbitTemplate, reply);
+        publishTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Publica as respostas em um único canal e aguarda uma única confirmação do broker para o lote inteiro.
+     */
+    @Override
+    public void sendAll(List<AuthorizationReply> replies) {
+        if (replies.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        rabbitTemplate.invoke(operations -> {
+            for (AuthorizationReply reply : replies) {
+                publish(operations, reply);
+            }
+            operations.waitForConfirmsOrDie(confirmTimeout);
+            return null;
+        });
+
+        publishBatchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void publish(RabbitOperations operations, AuthorizationReply reply) {
+        if (reply.correlationId() == null) {
+            operations.convertAndSend(reply.replyQueue(), reply.isoResponse());
+            return;
+        }
+
+        operations.convertAndSend(reply.replyQueue(), reply.isoResponse(), message -> {
+            message.getMessageProperties().setCorrelationId(reply.correlationId());
+            return message;
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package com.destaxa.authorization.transport;
+
+import com.destaxa.authorization.service.AuthorizationReply;
+
+import java.util.List;
+
+/**
+ * Envio das respostas ISO8583 à API.
+ */
+public interface ReplyTransport {
+
+    void send(AuthorizationReply reply);
+
+    /**
+     * Envia o lote e só retorna quando o transporte assumiu a entrega de todas as respostas; lança exceção quando
+     * alguma delas pode não ter sido entregue.
+     */
+    void sendAll(List<AuthorizationReply> replies);
+}
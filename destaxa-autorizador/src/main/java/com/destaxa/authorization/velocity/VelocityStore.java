@@ -0,0 +1,269 @@
+package com.destaxa.authorization.velocity;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Quantidade e valor das transações aprovadas por cartão nas janelas de {@link VelocityWindow}.
+ * <p>
+ * O cartão é identificado por um hash de 64 bits do PAN (o número não é guardado). Cada janela guarda o contador
+ * do intervalo atual e do anterior, e o total móvel é estimado ponderando o intervalo anterior pela fração que
+ * ainda cai dentro da janela. Os dados ficam em um único {@code long[]} por segmento ({@value #STRIDE} posições
+ * por cartão), com {@value #SEGMENTS} segmentos de lock próprio e tamanho fixo definido na inicialização.
+ * <p>
+ * A sondagem é limitada a {@value #MAX_PROBE} posições. Um cartão novo ocupa a primeira posição livre; se não
+ * houver, substitui o cartão com a atividade mais antiga entre as posições sondadas. Só é contado como descarte
+ * ({@code authorization.velocity.evictions}) o cartão substituído que teve movimento nos últimos dois dias.
+ */
+@Component
+public class VelocityStore {
+
+    private static final int SEGMENTS = 64;
+    private static final int MAX_PROBE = 8;
+    private static final long EMPTY = 0;
+
+    private static final VelocityWindow[] WINDOWS = VelocityWindow.values();
+    private static final int WINDOW_FIELDS = 5;
+    private static final int KEY = 0;
+    private static final int STRIDE = 1 + WINDOWS.length * WINDOW_FIELDS;
+
+    private static final int WINDOW_ID = 0;
+    private static final int CURRENT_COUNT = 1;
+    private static final int CURRENT_AMOUNT = 2;
+    private static final int PREVIOUS_COUNT = 3;
+    private static final int PREVIOUS_AMOUNT = 4;
+
+    private static final long IDLE_SECONDS = 2 * VelocityWindow.DAY.seconds();
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongSupplier clock;
+
+    @Autowired
+    public VelocityStore(@Value("${authorization.velocity.capacity}") int capacity, MeterRegistry meterRegistry) {
+        this(capacity, System::currentTimeMillis, meterRegistry);
+    }
+
+    VelocityStore(int capacity, LongSupplier clock, MeterRegistry meterRegistry) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva");
+        }
+
+        this.clock = clock;
+
+        int segmentSlots = Integer.highestOneBit(Math.max(MAX_PROBE, (capacity + SEGMENTS - 1) / SEGMENTS) * 2 - 1);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentSlots);
+        }
+
+        Gauge.builder("authorization.velocity.cards", this, VelocityStore::size)
+            .description("Cartões acompanhados pelos limites de velocidade")
+            .register(meterRegistry);
+        FunctionCounter.builder("authorization.velocity.evictions", this, VelocityStore::evictions)
+            .description("Cartões com atividade recente descartados por falta de espaço")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Registra uma transação aprovada.
+     */
+    public void record(String cardNumber, long minorUnits) {
+        if (cardNumber == null) {
+            return;
+        }
+
+        long key = hash(cardNumber);
+        segments[(int) (key >>> 58)].record(key, minorUnits, clock.getAsLong() / 1000);
+    }
+
+    /**
+     * @return quantidade estimada de transações aprovadas na janela
+     */
+    public long count(String cardNumber, VelocityWindow window) {
+        return read(cardNumber, window, CURRENT_COUNT, PREVIOUS_COUNT);
+    }
+
+    /**
+     * @return valor estimado, em centavos, das transações aprovadas na janela
+     */
+    public long amount(String cardNumber, VelocityWindow window) {
+        return read(cardNumber, window, CURRENT_AMOUNT, PREVIOUS_AMOUNT);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long evictions() {
+        long evictions = 0;
+        for (Segment segment : segments) {
+            evictions += segment.evictions();
+        }
+        return evictions;
+    }
+
+    private long read(String cardNumber, VelocityWindow window, int currentField, int previousField) {
+        if (cardNumber == null) {
+            return 0;
+        }
+
+        long key = hash(cardNumber);
+        return segments[(int) (key >>> 58)].read(key, window.ordinal(), currentField, previousField, clock.getAsLong() / 1000);
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os dígitos, seguido de uma mistura final para espalhar os bits altos usados na
+     * escolha do segmento.
+     */
+    static long hash(String cardNumber) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < cardNumber.length(); i++) {
+            h ^= cardNumber.charAt(i);
+            h *= 0x100000001b3L;
+        }
+
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h == EMPTY ? 1 : h;
+    }
+
+    private static int base(int window) {
+        return 1 + window * WINDOW_FIELDS;
+    }
+
+    private static final class Segment {
+
+        private final long[] data;
+        private final int mask;
+        private int size;
+        private long evictions;
+
+        Segment(int slots) {
+            this.data = new long[slots * STRIDE];
+            this.mask = slots - 1;
+        }
+
+        synchronized void record(long key, long minorUnits, long nowSeconds) {
+            int slot = findOrClaim(key, nowSeconds);
+            int offset = slot * STRIDE;
+
+            for (int window = 0; window < WINDOWS.length; window++) {
+                int base = offset + base(window);
+                long windowId = nowSeconds / WINDOWS[window].seconds();
+                long stored = data[base + WINDOW_ID];
+
+                if (stored != windowId) {
+                    boolean adjacent = stored == windowId - 1;
+                    data[base + PREVIOUS_COUNT] = adjacent ? data[base + CURRENT_COUNT] : 0;
+                    data[base + PREVIOUS_AMOUNT] = adjacent ? data[base + CURRENT_AMOUNT] : 0;
+                    data[base + CURRENT_COUNT] = 0;
+                    data[base + CURRENT_AMOUNT] = 0;
+                    data[base + WINDOW_ID] = windowId;
+                }
+
+                data[base + CURRENT_COUNT]++;
+                data[base + CURRENT_AMOUNT] += minorUnits;
+            }
+        }
+
+        synchronized long read(long key, int window, int currentField, int previousField, long nowSeconds) {
+            int slot = find(key);
+            if (slot < 0) {
+                return 0;
+            }
+
+            int base = slot * STRIDE + base(window);
+            long length = WINDOWS[window].seconds();
+            long windowId = nowSeconds / length;
+            long stored = data[base + WINDOW_ID];
+
+            if (stored == windowId) {
+                long remaining = length - nowSeconds % length;
+                return data[base + currentField] + data[base + previousField] * remaining / length;
+            }
+            if (stored == windowId - 1) {
+                long remaining = length - nowSeconds % length;
+                return data[base + currentField] * remaining / length;
+            }
+            return 0;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long evictions() {
+            return evictions;
+        }
+
+        private int find(long key) {
+            int slot = (int) key & mask;
+
+            for (int probe = 0; probe < MAX_PROBE; probe++, slot = (slot + 1) & mask) {
+                long stored = data[slot * STRIDE + KEY];
+                if (stored == key) {
+                    return slot;
+                }
+                if (stored == EMPTY) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Posições nunca são esvaziadas (cartões vencidos são sobrescritos no lugar), então a busca pode parar na
+         * primeira posição vazia.
+         */
+        private int findOrClaim(long key, long nowSeconds) {
+            int slot = (int) key & mask;
+            int victim = slot;
+            long oldestActivity = Long.MAX_VALUE;
+
+            for (int probe = 0; probe < MAX_PROBE; probe++, slot = (slot + 1) & mask) {
+                long stored = data[slot * STRIDE + KEY];
+
+                if (stored == key) {
+                    return slot;
+                }
+                if (stored == EMPTY) {
+                    victim = slot;
+                    break;
+                }
+
+                long lastActivity = lastActivity(slot);
+                if (lastActivity < oldestActivity) {
+                    victim = slot;
+                    oldestActivity = lastActivity;
+                }
+            }
+
+            int offset = victim * STRIDE;
+
+            if (data[offset + KEY] == EMPTY) {
+                size++;
+            } else if (nowSeconds - lastActivity(victim) < IDLE_SECONDS) {
+                evictions++;
+            }
+
+            Arrays.fill(data, offset, offset + STRIDE, 0);
+            data[offset + KEY] = key;
+            return victim;
+        }
+
+        private long lastActivity(int slot) {
+            return data[slot * STRIDE + base(0) + WINDOW_ID] * WINDOWS[0].seconds();
+        }
+    }
+}
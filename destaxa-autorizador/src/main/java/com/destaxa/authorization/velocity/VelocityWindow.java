@@ -0,0 +1,21 @@
+package com.destaxa.authorization.velocity;
+
+/**
+ * Janelas móveis acompanhadas pelo {@link VelocityStore}.
+ */
+public enum VelocityWindow {
+
+    MINUTE(60),
+    HOUR(3_600),
+    DAY(86_400);
+
+    private final long seconds;
+
+    VelocityWindow(long seconds) {
+        this.seconds = seconds;
+    }
+
+    public long seconds() {
+        return seconds;
+    }
+}
@@ -1,13 +1,26 @@
 package com.destaxa.authorization;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 class DestaxaAutorizadorApplicationTests {
 
+	@Autowired
+	private ApplicationContext context;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void deliveryExecutorKeepsApplicationTaskExecutor() {
+		assertTrue(context.containsBean("applicationTaskExecutor"));
+		assertTrue(context.containsBean("deliveryExecutor"));
+	}
+
 }
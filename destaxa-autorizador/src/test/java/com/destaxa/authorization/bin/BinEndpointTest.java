@@ -0,0 +1,28 @@
+package com.destaxa.authorization.bin;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinEndpointTest {
+
+    @Test
+    void testLookupByPrefixReturnsIssuerLimitAndRoute() {
+        BinEndpoint endpoint = new BinEndpoint(new BinLookup(BinTable.of(List.of(
+            new BinRange("400000", "499999", "visa", -1, "visa-net"),
+            new BinRange("411111", "411111", "emissor-a", 500_00, "emissor-a-direto"))), new SimpleMeterRegistry()));
+
+        BinRange range = endpoint.lookup("41111111");
+        assertEquals("emissor-a", range.issuer());
+        assertEquals(500_00, range.maxAmount());
+        assertEquals("emissor-a-direto", range.route());
+
+        assertEquals("visa-net", endpoint.lookup("400000").route());
+        assertFalse(endpoint.lookup("400000").hasLimit());
+        assertNull(endpoint.lookup("601100"));
+        assertNull(endpoint.lookup("4111"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.destaxa.authorization.bin;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinTableTest {
+
+    @Test
+    void testMostSpecificRangeWins() throws IOException {
+        BinTable table = read("""
+            # inicio,fim,emissor,valorMaximo,rota
+            400000,499999,visa,,visa-net
+            411111,411111,emissor-a,500.00,emissor-a
+            41111150,41111159,emissor-b,100.00,emissor-b
+            510000,559999,master,2000.00,master-net
+            """);
+
+        assertEquals("visa", table.lookup("4000000000000002").issuer());
+        assertEquals("emissor-a", table.lookup("4111111111111111").issuer());
+        assertEquals(500_00, table.lookup("4111111111111111").maxAmount());
+        assertEquals("emissor-b", table.lookup("4111115511111111").issuer());
+        assertEquals("emissor-a", table.lookup("4111116011111111").issuer());
+        assertEquals("visa", table.lookup("4111120000000000").issuer());
+        assertFalse(table.lookup("4999990000000000").hasLimit());
+        assertEquals("master-net", table.lookup("5500000000000004").route());
+
+        assertNull(table.lookup("6011000000000004"));
+        assertNull(table.lookup("41111"));
+        assertNull(table.lookup(null));
+    }
+
+    @Test
+    void testInvalidRangesAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> BinTable.of(List.of(range("400000", "450000"), range("420000", "480000"))));
+        assertThrows(IllegalArgumentException.class, () -> BinTable.of(List.of(range("41111", "41111"))));
+        assertThrows(IllegalArgumentException.class, () -> BinTable.of(List.of(range("499999", "400000"))));
+        assertThrows(IllegalArgumentException.class, () -> read("400000,499999,visa,abc,visa-net"));
+        assertThrows(IllegalArgumentException.class, () -> read("400000,499999,visa"));
+    }
+
+    private static BinRange range(String low, String high) {
+        return new BinRange(low, high, "emissor", -1, "rota");
+    }
+
+    private static BinTable read(String content) throws IOException {
+        return BinTable.read(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.destaxa.authorization.channel;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cliente de teste do {@link IsoTcpServer}: envia requisições sem esperar as anteriores e associa cada resposta à
+ * requisição de mesmo STAN.
+ */
+class IsoTcpClient implements Closeable {
+
+    private final Socket socket;
+    private final DataOutputStream output;
+    private final DataInputStream input;
+    private final Function<byte[], String> stanOf;
+    private final Map<String, CompletableFuture<byte[]>> pending = new ConcurrentHashMap<>();
+    private final Thread reader;
+
+    IsoTcpClient(String host, int port, Function<byte[], String> stanOf) throws IOException {
+        this.socket = new Socket(host, port);
+        this.socket.setTcpNoDelay(true);
+        this.output = new DataOutputStream(socket.getOutputStream());
+        this.input = new DataInputStream(socket.getInputStream());
+        this.stanOf = stanOf;
+        this.reader = new Thread(this::readResponses, "iso-tcp-client");
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+
+    CompletableFuture<byte[]> send(String stan, byte[] message) throws IOException {
+        CompletableFuture<byte[]> response = expect(stan);
+
+        synchronized (output) {
+            output.writeShort(message.length);
+            output.write(message);
+            output.flush();
+        }
+        return response;
+    }
+
+    CompletableFuture<byte[]> expect(String stan) {
+        CompletableFuture<byte[]> response = new CompletableFuture<>();
+        pending.put(stan, response);
+        return response;
+    }
+
+    /**
+     * Escreve bytes arbitrários, para simular quadros fragmentados ou keep-alives.
+     */
+    void sendRaw(byte[] bytes) throws IOException {
+        synchronized (output) {
+            output.write(bytes);
+            output.flush();
+        }
+    }
+
+    private void readResponses() {
+        try {
+            while (true) {
+                byte[] frame = new byte[input.readUnsignedShort()];
+                input.readFully(frame);
+
+                CompletableFuture<byte[]> response = pending.remove(stanOf.apply(frame));
+                if (response != null) {
+                    response.complete(frame);
+                }
+            }
+        } catch (IOException e) {
+            failPending(e);
+        }
+    }
+
+    private void failPending(IOException e) {
+        pending.values().forEach(response -> response.completeExceptionally(e));
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
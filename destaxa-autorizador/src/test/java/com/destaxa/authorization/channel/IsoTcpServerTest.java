@@ -0,0 +1,201 @@
+package com.destaxa.authorization.channel;
+
+import com.destaxa.authorization.exception.ISOFormatException;
+import com.destaxa.authorization.iso.ISO8583Processor;
+import com.destaxa.authorization.service.AuthorizationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOMsg;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.destaxa.authorization.iso.ISO8583Processor.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@TestPropertySource(properties = {"authorization.journal.directory=target/journal",
+    "authorization.tcp.enabled=true",
+    "authorization.tcp.host=127.0.0.1",
+    "authorization.tcp.port=0",
+    "authorization.rules.chain[0].name=valor-minimo",
+    "authorization.rules.chain[0].type=MIN_AMOUNT",
+    "authorization.rules.chain[0].amount=0.01",
+    "authorization.rules.chain[0].response-code=051",
+    "authorization.rules.chain[1].name=valor-maximo",
+    "authorization.rules.chain[1].type=MAX_AMOUNT",
+    "authorization.rules.chain[1].amount=1000.00",
+    "authorization.rules.chain[1].response-code=051",
+    "authorization.rules.chain[1].delay=500"})
+public class IsoTcpServerTest {
+
+    @Autowired
+    private IsoTcpServer server;
+
+    @Autowired
+    private ISO8583Processor iso8583Processor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private RabbitTemplate rabbitTemplate;
+
+    @MockitoSpyBean
+    private AuthorizationService authorizationService;
+
+    @Value("${authorization.tcp.max-in-flight}")
+    private int maxInFlight;
+
+    @Test
+    void testPipelinedRequestsAreMatchedByStan() throws Exception {
+        try (IsoTcpClient client = client()) {
+            List<CompletableFuture<byte[]>> responses = new ArrayList<>();
+
+            for (int i = 1; i <= 200; i++) {
+                BigDecimal value = i % 2 == 0 ? new BigDecimal("10.50") : new BigDecimal("-1.00");
+                responses.add(client.send(stan(i), request(stan(i), value)));
+            }
+
+            for (int i = 1; i <= 200; i++) {
+                byte[] response = responses.get(i - 1).get(5, TimeUnit.SECONDS);
+                assertEquals(stan(i), field(response, FIELD_NSU));
+                assertEquals(i % 2 == 0 ? "000" : "051", field(response, FIELD_RESPONSE_CODE));
+            }
+        }
+
+        verify(rabbitTemplate, never()).convertAndSend(any(String.class), any(Object.class));
+        assertTrue(meterRegistry.get("authorization.tcp.messages").tag("direction", "sent").counter().count() >= 200);
+    }
+
+    @Test
+    void testDelayedDecisionDoesNotBlockLaterRequests() throws Exception {
+        ConcurrentLinkedQueue<String> completionOrder = new ConcurrentLinkedQueue<>();
+
+        try (IsoTcpClient client = client()) {
+            CompletableFuture<byte[]> delayed = client.send(stan(900), request(stan(900), new BigDecimal("1500.00")));
+            CompletableFuture<Void> delayedRecorded = delayed.thenRun(() -> completionOrder.add(stan(900)));
+
+            CompletableFuture<byte[]> immediate = client.send(stan(901), request(stan(901), new BigDecimal("10.50")));
+            CompletableFuture<Void> immediateRecorded = immediate.thenRun(() -> completionOrder.add(stan(901)));
+
+            assertEquals("000", field(immediate.get(5, TimeUnit.SECONDS), FIELD_RESPONSE_CODE));
+            assertEquals("051", field(delayed.get(5, TimeUnit.SECONDS), FIELD_RESPONSE_CODE));
+            // get() pode retornar antes de o thenRun registrar a ordem
+            CompletableFuture.allOf(delayedRecorded, immediateRecorded).get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of(stan(901), stan(900)), new ArrayList<>(completionOrder));
+    }
+
+    @Test
+    void testFragmentedFramesAndKeepAlivesAreHandled() throws Exception {
+        try (IsoTcpClient client = client()) {
+            byte[] message = request(stan(950), new BigDecimal("10.50"));
+            ByteArrayOutputStream framed = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(framed);
+            output.writeShort(0);
+            output.writeShort(message.length);
+            output.write(message);
+            byte[] bytes = framed.toByteArray();
+
+            CompletableFuture<byte[]> response = client.expect(stan(950));
+
+            int split = bytes.length / 2;
+            client.sendRaw(Arrays.copyOfRange(bytes, 0, 3));
+            Thread.sleep(50);
+            client.sendRaw(Arrays.copyOfRange(bytes, 3, split));
+            Thread.sleep(50);
+            client.sendRaw(Arrays.copyOfRange(bytes, split, bytes.length));
+
+            byte[] decision = response.get(5, TimeUnit.SECONDS);
+            assertEquals(stan(950), field(decision, FIELD_NSU));
+            assertEquals("000", field(decision, FIELD_RESPONSE_CODE));
+        }
+    }
+
+    @Test
+    void testRequestsWithoutResponseReleaseInFlightSlots() throws Exception {
+        int unanswered = maxInFlight + 10;
+        doReturn(false).when(authorizationService).authorize(any(byte[].class), any(Consumer.class));
+
+        try (IsoTcpClient client = client()) {
+            for (int i = 0; i < unanswered; i++) {
+                client.send(stan(10_000 + i), request(stan(10_000 + i), new BigDecimal("10.50")));
+            }
+            verify(authorizationService, timeout(5000).times(unanswered)).authorize(any(byte[].class), any(Consumer.class));
+
+            reset(authorizationService);
+            byte[] decision = client.send(stan(20_000), request(stan(20_000), new BigDecimal("10.50"))).get(5, TimeUnit.SECONDS);
+            assertEquals("000", field(decision, FIELD_RESPONSE_CODE));
+        }
+    }
+
+    private IsoTcpClient client() throws IOException {
+        return new IsoTcpClient("127.0.0.1", server.port(), frame -> {
+            try {
+                return iso8583Processor.view(frame).getString(FIELD_NSU);
+            } catch (ISOFormatException e) {
+                throw new UncheckedIOException(new IOException(e));
+            }
+        });
+    }
+
+    private String field(byte[] message, int field) throws ISOFormatException {
+        return iso8583Processor.view(message).getString(field);
+    }
+
+    private static String stan(int i) {
+        return String.format("%06d", i);
+    }
+
+    private byte[] request(String stan, BigDecimal value) throws ISOException {
+        ISOMsg isoMsg = new ISOMsg();
+        isoMsg.setPackager(iso8583Processor.getPackager());
+        isoMsg.setHeader(ISO_HEADER.getBytes(StandardCharsets.ISO_8859_1));
+        isoMsg.setMTI(MTI_AUTHORIZATION_REQUEST);
+
+        isoMsg.set(FIELD_CARD_NUMBER, "1234567890123456");
+        isoMsg.set(FIELD_PROCESSING_CODE, "003000");
+        isoMsg.set(FIELD_TRANSACTION_AMOUNT, iso8583Processor.getAmountFormatter().format(value));
+        isoMsg.set(FIELD_TRANSMISSION_DATE_TIME, LocalDateTime.now().format(DATE_TIME_FORMATTER));
+        isoMsg.set(FIELD_NSU, stan);
+        isoMsg.set(FIELD_LOCAL_TRANSACTION_TIME, LocalTime.now().format(TIME_FORMATTER));
+        isoMsg.set(FIELD_LOCAL_TRANSACTION_DATE, LocalDate.now().format(DATE_FORMATTER));
+        isoMsg.set(FIELD_EXPIRATION_DATE, "1225");
+        isoMsg.set(FIELD_ENTRY_MODE, "123");
+        isoMsg.set(FIELD_EXTERNAL_ID, "ext-" + stan);
+        isoMsg.set(FIELD_INSTALLMENTS, "1");
+
+        return isoMsg.pack();
+    }
+}
@@ -0,0 +1,53 @@
+package com.destaxa.authorization.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdGeneratorTest {
+
+    private static final String CROCKFORD = "[0-9A-HJKMNP-TV-Z]";
+
+    @Test
+    void testPaymentIdsAreTimeOrderedAndCarryNode() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        IdGenerator generator = new IdGenerator(513, clock::get);
+
+        String previous = generator.paymentId();
+        for (int i = 0; i < 1000; i++) {
+            clock.incrementAndGet();
+            String next = generator.paymentId();
+
+            assertTrue(next.matches(CROCKFORD + "{26}"), next);
+            assertTrue(next.compareTo(previous) > 0);
+            assertEquals(clock.get(), IdGenerator.timestampOf(next));
+            assertEquals(513, IdGenerator.nodeIdOf(next));
+            previous = next;
+        }
+    }
+
+    @Test
+    void testPaymentIdsAreUniqueWithinSameMillisecond() {
+        IdGenerator generator = new IdGenerator(0, () -> 1_700_000_000_000L);
+        Set<String> ids = new HashSet<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(ids.add(generator.paymentId()));
+        }
+    }
+
+    @Test
+    void testAuthorizationCodeFormat() {
+        IdGenerator generator = new IdGenerator(0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(generator.authorizationCode().matches(CROCKFORD + "{6}"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(70_000));
+        assertThrows(IllegalArgumentException.class, () -> IdGenerator.timestampOf("not-an-id"));
+    }
+}
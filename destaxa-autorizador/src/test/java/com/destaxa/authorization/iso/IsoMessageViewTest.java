@@ -0,0 +1,90 @@
+package com.destaxa.authorization.iso;
+
+import com.destaxa.authorization.exception.ISOFormatException;
+import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOMsg;
+import org.jpos.iso.packager.GenericPackager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.destaxa.authorization.iso.ISO8583Processor.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IsoMessageViewTest {
+
+    private GenericPackager packager;
+    private IsoFieldLayout layout;
+
+    @BeforeEach
+    void setUp() throws ISOException {
+        packager = new GenericPackager(getClass().getResourceAsStream("/packager.xml"));
+        layout = IsoFieldLayout.from(packager);
+    }
+
+    @Test
+    void testFieldsMatchJposUnpack() throws Exception {
+        ISOMsg isoMsg = createIsoMsg();
+        byte[] packed = isoMsg.pack();
+
+        IsoMessageView view = IsoMessageView.wrap(packed, layout);
+
+        assertEquals(MTI_AUTHORIZATION_RESPONSE, view.getMTI());
+        assertTrue(view.isMTI(MTI_AUTHORIZATION_RESPONSE));
+
+        ISOMsg unpacked = new ISOMsg();
+        unpacked.setPackager(packager);
+        unpacked.unpack(packed);
+
+        for (int field = 2; field <= IsoFieldLayout.MAX_FIELD; field++) {
+            assertEquals(unpacked.hasField(field), view.hasField(field), "Presença do campo " + field);
+            if (unpacked.hasField(field)) {
+                assertEquals(unpacked.getString(field), view.getString(field), "Valor do campo " + field);
+            }
+        }
+    }
+
+    @Test
+    void testNumericFields() throws Exception {
+        IsoMessageView view = IsoMessageView.wrap(createIsoMsg().pack(), layout);
+
+        assertEquals(150000, view.getLong(FIELD_TRANSACTION_AMOUNT));
+        assertEquals(123456, view.getLong(FIELD_NSU));
+        assertThrows(ISOFormatException.class, () -> view.getLong(FIELD_INSTALLMENTS));
+    }
+
+    @Test
+    void testInvalidMessage() {
+        byte[] invalid = "Invalid ISO message".getBytes(StandardCharsets.ISO_8859_1);
+
+        assertThrows(ISOFormatException.class, () -> IsoMessageView.wrap(invalid, layout));
+    }
+
+    @Test
+    void testTruncatedMessage() throws Exception {
+        byte[] packed = createIsoMsg().pack();
+        byte[] truncated = new byte[packed.length - 5];
+        System.arraycopy(packed, 0, truncated, 0, truncated.length);
+
+        assertThrows(ISOFormatException.class, () -> IsoMessageView.wrap(truncated, layout));
+    }
+
+    private ISOMsg createIsoMsg() throws ISOException {
+        ISOMsg isoMsg = new ISOMsg();
+        isoMsg.setPackager(packager);
+        isoMsg.setHeader(ISO_HEADER.getBytes(StandardCharsets.ISO_8859_1));
+        isoMsg.setMTI(MTI_AUTHORIZATION_RESPONSE);
+        isoMsg.set(FIELD_CARD_NUMBER, "1234567890123456");
+        isoMsg.set(FIELD_PROCESSING_CODE, "003000");
+        isoMsg.set(FIELD_TRANSACTION_AMOUNT, "000000150000");
+        isoMsg.set(FIELD_TRANSMISSION_DATE_TIME, "1018120000");
+        isoMsg.set(FIELD_NSU, "123456");
+        isoMsg.set(FIELD_AUTHORIZATION_ID_RESPONSE, "a1b2c3");
+        isoMsg.set(FIELD_RESPONSE_CODE, "000");
+        isoMsg.set(FIELD_MERCHANT_ID, "externalId123");
+        isoMsg.set(FIELD_EXTERNAL_ID, "externalId123");
+        isoMsg.set(FIELD_NSU_HOST, "0f8fad5b-d9cb-469f-a165-70867728950e");
+        return isoMsg;
+    }
+}
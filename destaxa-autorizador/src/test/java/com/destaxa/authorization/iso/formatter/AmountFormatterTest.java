@@ -0,0 +1,41 @@
+package com.destaxa.authorization.iso.formatter;
+
+import com.destaxa.authorization.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AmountFormatterTest {
+
+    private final AmountFormatter amountFormatter = new AmountFormatter();
+
+    @Test
+    void testFormat() {
+        assertEquals("000000050000", amountFormatter.format(new BigDecimal("500.00")));
+        assertEquals("000000000105", amountFormatter.format(new BigDecimal("1.059")));
+        assertEquals("-00000010000", amountFormatter.format(new BigDecimal("-100.00")));
+        assertEquals("000000000000", amountFormatter.format(Money.ZERO));
+        assertNull(amountFormatter.format((Money) null));
+    }
+
+    @Test
+    void testFormatTo() {
+        byte[] buffer = new byte[AmountFormatter.AMOUNT_LENGTH + 2];
+
+        amountFormatter.formatTo(123456, buffer, 2);
+
+        assertEquals("000000123456", new String(buffer, 2, AmountFormatter.AMOUNT_LENGTH, StandardCharsets.ISO_8859_1));
+        assertThrows(IllegalArgumentException.class, () -> amountFormatter.formatTo(1_000_000_000_000L, buffer, 0));
+    }
+
+    @Test
+    void testParse() {
+        assertEquals(Money.ofMinorUnits(50000), amountFormatter.parse("000000050000"));
+        assertEquals(Money.ofMinorUnits(-10000), amountFormatter.parse("-00000010000"));
+        assertEquals(new BigDecimal("-100.00"), amountFormatter.parse("-00000010000").toBigDecimal());
+        assertNull(amountFormatter.parse(" "));
+    }
+}
@@ -0,0 +1,92 @@
+package com.destaxa.authorization.journal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionJournalTest {
+
+    private static final int SEGMENT_SIZE = 16 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecordsAreReadBackInOrderAcrossSegments() throws IOException {
+        TransactionJournal journal = new TransactionJournal(true, directory, SEGMENT_SIZE, 100, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 500; i++) {
+            journal.append(record(i));
+        }
+        journal.flush();
+
+        JournalReader reader = JournalReader.open(directory);
+        assertTrue(reader.segmentFiles().size() > 1);
+
+        List<JournalRecord> records = new ArrayList<>();
+        reader.forEach(records::add);
+
+        assertEquals(500, records.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(record(i), records.get(i));
+        }
+    }
+
+    @Test
+    void testRetentionKeepsOnlyNewestSegments() throws IOException {
+        TransactionJournal journal = new TransactionJournal(true, directory, SEGMENT_SIZE, 2, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 2000; i++) {
+            journal.append(record(i));
+        }
+        journal.flush();
+
+        List<Path> segments = JournalReader.open(directory).segmentFiles();
+        assertEquals(2, segments.size());
+
+        JournalRecord last = null;
+        for (JournalRecord record : JournalReader.open(directory)) {
+            last = record;
+        }
+        assertEquals(record(1999), last);
+    }
+
+    @Test
+    void testCorruptedRecordEndsReading() throws IOException {
+        TransactionJournal journal = new TransactionJournal(true, directory, SEGMENT_SIZE, 1, new SimpleMeterRegistry());
+        journal.append(record(1));
+        journal.append(record(2));
+        journal.flush();
+
+        Path segment = JournalReader.open(directory).segmentFiles().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long firstPayload = JournalCodec.SEGMENT_HEADER_LENGTH + JournalCodec.RECORD_HEADER_LENGTH;
+            file.seek(firstPayload);
+            int value = file.read();
+            file.seek(firstPayload);
+            file.write(value ^ 0xFF);
+        }
+
+        assertFalse(JournalReader.open(directory).iterator().hasNext());
+    }
+
+    @Test
+    void testPanIsMasked() {
+        assertEquals("411111******1111", JournalRecord.maskPan("4111111111111111"));
+        assertEquals("****", JournalRecord.maskPan("1234"));
+        assertNull(JournalRecord.maskPan(null));
+    }
+
+    private static JournalRecord record(int i) {
+        return new JournalRecord(1_700_000_000_000L + i, "payment-" + i, "external-" + i, String.valueOf(i),
+            "411111******1111", 1000L + i, i % 12, i % 2 == 0 ? "000" : "051", i % 2 == 0 ? "123456" : null, 0);
+    }
+}
@@ -0,0 +1,165 @@
+package com.destaxa.authorization.rules;
+
+import com.destaxa.authorization.bin.BinLookup;
+import com.destaxa.authorization.bin.BinRange;
+import com.destaxa.authorization.bin.BinTable;
+import com.destaxa.authorization.id.IdGenerator;
+import com.destaxa.authorization.model.AuthorizationRequest;
+import com.destaxa.authorization.model.Money;
+import com.destaxa.authorization.velocity.VelocityStore;
+import com.destaxa.authorization.velocity.VelocityWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthorizationRulesTest {
+
+    private static final RuleDefinition MIN_AMOUNT =
+        new RuleDefinition("valor-minimo", RuleType.MIN_AMOUNT, new BigDecimal("0.01"), null, null, "051", null, null);
+    private static final RuleDefinition MAX_AMOUNT =
+        new RuleDefinition("valor-maximo", RuleType.MAX_AMOUNT, new BigDecimal("1000.00"), null, null, "051", 5000L, null);
+    private static final RuleDefinition MAX_INSTALLMENTS =
+        new RuleDefinition("parcelas", RuleType.MAX_INSTALLMENTS, null, 6, null, "057", null, null);
+
+    private SimpleMeterRegistry registry;
+    private AuthorizationRules rules;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        rules = new AuthorizationRules(List.of(MIN_AMOUNT, MAX_AMOUNT), new VelocityStore(1024, registry),
+            new BinLookup(BinTable.EMPTY, registry), new IdGenerator(0), registry);
+    }
+
+    @Test
+    void testFirstDecliningRuleWins() {
+        AuthorizationDecision approved = rules.apply(request(500_00, 1), "payment");
+        assertEquals("000", approved.response().getResponseCode());
+        assertNotNull(approved.response().getAuthorizationCode());
+
+        AuthorizationDecision negative = rules.apply(request(-100_00, 1), "payment");
+        assertEquals("051", negative.response().getResponseCode());
+        assertFalse(negative.isDelayed());
+
+        AuthorizationDecision overLimit = rules.apply(request(1500_00, 1), "payment");
+        assertEquals("051", overLimit.response().getResponseCode());
+        assertEquals(5000, overLimit.delayMillis());
+
+        assertEquals(1.0, registry.get("authorization.rules.hits").tag("rule", "valor-minimo").counter().count());
+        assertEquals(1.0, registry.get("authorization.rules.hits").tag("rule", "valor-maximo").counter().count());
+        assertEquals(2, registry.get("authorization.rules.evaluation").tag("rule", "valor-maximo").timer().count());
+    }
+
+    @Test
+    void testReplaceSwapsChainAndRemovesStaleMeters() {
+        long version = rules.replace(List.of(MIN_AMOUNT, MAX_INSTALLMENTS));
+
+        assertEquals(2, version);
+        assertEquals("000", rules.apply(request(1500_00, 6), "payment").response().getResponseCode());
+        assertEquals("057", rules.apply(request(100_00, 12), "payment").response().getResponseCode());
+        assertNull(registry.find("authorization.rules.hits").tag("rule", "valor-maximo").counter());
+        assertNotNull(registry.find("authorization.rules.hits").tag("rule", "valor-minimo").counter());
+    }
+
+    @Test
+    void testInvalidDefinitionKeepsCurrentChain() {
+        RuleDefinition invalid = new RuleDefinition("modo", RuleType.ENTRY_MODE, null, null, List.of(), "058", null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> rules.replace(List.of(MIN_AMOUNT, invalid)));
+        assertThrows(IllegalArgumentException.class, () -> rules.replace(List.of(MAX_INSTALLMENTS, invalid)));
+        assertNull(registry.find("authorization.rules.hits").tag("rule", "parcelas").counter());
+        assertThrows(IllegalArgumentException.class, () -> rules.replace(List.of(MIN_AMOUNT, MIN_AMOUNT)));
+        assertThrows(IllegalArgumentException.class, () -> rules.replace(List.of()));
+
+        assertEquals(1, rules.version());
+        assertEquals(5000, rules.apply(request(1500_00, 1), "payment").delayMillis());
+    }
+
+    @Test
+    void testVelocityRuleCountsApprovedTransactions() {
+        rules.replace(List.of(MIN_AMOUNT,
+            new RuleDefinition("velocidade", RuleType.VELOCITY_COUNT, null, 2, null, "065", null, VelocityWindow.HOUR)));
+
+        assertEquals("000", rules.apply(request(100_00, 1), "payment").response().getResponseCode());
+        assertEquals("000", rules.apply(request(100_00, 1), "payment").response().getResponseCode());
+        assertEquals("065", rules.apply(request(100_00, 1), "payment").response().getResponseCode());
+    }
+
+    @Test
+    void testIssuerLimitFromBinTable() {
+        BinLookup binLookup = new BinLookup(BinTable.of(List.of(new BinRange("411111", "411111", "emissor", 200_00, "emissor"))), registry);
+        AuthorizationRules binRules = new AuthorizationRules(List.of(
+            new RuleDefinition("bin-desconhecido", RuleType.BIN_UNKNOWN, null, null, null, "014", null, null),
+            new RuleDefinition("limite-emissor", RuleType.BIN_LIMIT, null, null, null, "061", null, null)),
+            new VelocityStore(1024, registry), binLookup, new IdGenerator(0), registry);
+
+        assertEquals("000", binRules.apply(request(200_00, 1), "payment").response().getResponseCode());
+        assertEquals("061", binRules.apply(request(200_01, 1), "payment").response().getResponseCode());
+
+        AuthorizationRequest unknown = request(100_00, 1);
+        unknown.setCardNumber("5500000000000004");
+        assertEquals("014", binRules.apply(unknown, "payment").response().getResponseCode());
+    }
+
+    @Test
+    void testRulesReloadedFromExternalFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("rules.yaml");
+        Files.writeString(file, """
+            authorization:
+              rules:
+                chain:
+                  - name: modo-entrada
+                    type: ENTRY_MODE
+                    values: ["021", "051"]
+                    response-code: "058"
+            """);
+
+        RuleSetLoader loader = new RuleSetLoader(new StandardEnvironment(), new DefaultResourceLoader(), file.toUri().toString());
+        rules.replace(loader.load());
+
+        assertEquals("058", rules.apply(request(100_00, 1), "payment").response().getResponseCode());
+    }
+
+    @Test
+    void testReloadWithoutChainKeepsCurrentChain(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("rules.yaml");
+        Files.writeString(file, """
+            authorization:
+              rule:
+                chain:
+                  - name: modo-entrada
+                    type: ENTRY_MODE
+                    values: ["021", "051"]
+                    response-code: "058"
+            """);
+
+        RuleSetLoader loader = new RuleSetLoader(new StandardEnvironment(), new DefaultResourceLoader(), file.toUri().toString());
+
+        assertThrows(IllegalArgumentException.class, () -> rules.replace(loader.load()));
+        assertEquals(1, rules.version());
+        assertEquals("000", rules.apply(request(100_00, 1), "payment").response().getResponseCode());
+        assertEquals("051", rules.apply(request(0, 1), "payment").response().getResponseCode());
+        assertEquals(5000, rules.apply(request(1500_00, 1), "payment").delayMillis());
+    }
+
+    private static AuthorizationRequest request(long minorUnits, int installments) {
+        AuthorizationRequest request = new AuthorizationRequest();
+        request.setValue(Money.ofMinorUnits(minorUnits));
+        request.setInstallments(installments);
+        request.setProcessingCode("003000");
+        request.setEntryMode("000");
+        request.setCardNumber("4111111111111111");
+        return request;
+    }
+}
@@ -6,6 +6,10 @@ import org.jpos.iso.ISOMsg;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,14 +22,19 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
 
 import static com.destaxa.authorization.iso.ISO8583Processor.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
-@TestPropertySource(properties = {"spring.rabbitmq.template.default-receive-queue=autorizacao_resposta"})
+@TestPropertySource(properties = {"spring.rabbitmq.template.default-receive-queue=autorizacao_resposta",
+    "authorization.journal.directory=target/journal"})
 public class AuthorizationServiceTest {
 
     @Autowired
@@ -71,9 +80,14 @@ public class AuthorizationServiceTest {
     void testValueOver1000_timeout() throws ISOException {
         String isoMessage = createValidIsoMessage(new BigDecimal("1500.00"));
 
+        long start = System.nanoTime();
         authorizationService.processAuthorizationRequest(isoMessage);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
 
-        verify(rabbitTemplate, times(1)).convertAndSend(eq(responseQueueName), messageCaptor.capture());
+        assertTrue(elapsedMillis < 1000, "A thread do listener não deve ficar bloqueada durante o timeout simulado");
+        verify(rabbitTemplate, never()).convertAndSend(eq(responseQueueName), anyString());
+
+        verify(rabbitTemplate, timeout(7000).times(1)).convertAndSend(eq(responseQueueName), messageCaptor.capture());
         String capturedMessage = messageCaptor.getValue();
 
         assertAuthorizationResponse(capturedMessage, "051", false);
@@ -89,6 +103,58 @@ public class AuthorizationServiceTest {
         assertAuthorizationResponse(messageCaptor.getValue(), "999", false);
     }
 
+    @Test
+    void testReplyRoutedToReplyQueueWithCorrelationId() throws ISOException {
+        String isoMessage = createValidIsoMessage(new BigDecimal("500.00"));
+        ArgumentCaptor<MessagePostProcessor> postProcessorCaptor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+
+        authorizationService.processAuthorizationRequest(isoMessage, "autorizacao_resposta.instance1", "externalId123");
+
+        verify(rabbitTemplate).convertAndSend(eq("autorizacao_resposta.instance1"), (Object) messageCaptor.capture(), postProcessorCaptor.capture());
+        assertAuthorizationResponse(messageCaptor.getValue(), "000", true);
+
+        Message reply = postProcessorCaptor.getValue().postProcessMessage(new Message(new byte[0], new MessageProperties()));
+        assertEquals("externalId123", reply.getMessageProperties().getCorrelationId());
+    }
+
+    @Test
+    void testErrorReplyKeepsCorrelationId() throws ISOException {
+        ArgumentCaptor<MessagePostProcessor> postProcessorCaptor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+
+        authorizationService.processAuthorizationRequest("Invalid ISO message", "autorizacao_resposta.instance1", "externalId123");
+
+        verify(rabbitTemplate).convertAndSend(eq("autorizacao_resposta.instance1"), (Object) messageCaptor.capture(), postProcessorCaptor.capture());
+        assertAuthorizationResponse(messageCaptor.getValue(), "999", false);
+
+        Message reply = postProcessorCaptor.getValue().postProcessMessage(new Message(new byte[0], new MessageProperties()));
+        assertEquals("externalId123", reply.getMessageProperties().getCorrelationId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBatchRepliesPublishedWithSingleConfirm() throws ISOException {
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+            .thenAnswer(invocation -> ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(rabbitTemplate));
+
+        byte[] approved = createValidIsoMessage(new BigDecimal("500.00")).getBytes(StandardCharsets.ISO_8859_1);
+        byte[] denied = createValidIsoMessage(new BigDecimal("-100.00")).getBytes(StandardCharsets.ISO_8859_1);
+
+        List<AuthorizationReply> replies = List.of(
+            authorizationService.authorize(approved, null, null),
+            authorizationService.authorize(denied, null, null));
+
+        verify(rabbitTemplate, never()).convertAndSend(eq(responseQueueName), anyString());
+
+        authorizationService.sendResponses(replies);
+
+        verify(rabbitTemplate, times(1)).invoke(any(RabbitOperations.OperationsCallback.class));
+        verify(rabbitTemplate, times(2)).convertAndSend(eq(responseQueueName), messageCaptor.capture());
+        verify(rabbitTemplate, times(1)).waitForConfirmsOrDie(anyLong());
+
+        assertAuthorizationResponse(messageCaptor.getAllValues().get(0), "000", true);
+        assertAuthorizationResponse(messageCaptor.getAllValues().get(1), "051", false);
+    }
+
     private String createValidIsoMessage(BigDecimal value) throws ISOException {
         ISOMsg isoMsg = new ISOMsg();
         isoMsg.setPackager(iso8583Processor.getPackager());
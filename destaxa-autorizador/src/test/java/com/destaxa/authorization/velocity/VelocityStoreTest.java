@@ -0,0 +1,65 @@
+package com.destaxa.authorization.velocity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VelocityStoreTest {
+
+    private static final String CARD = "4111111111111111";
+    private static final long START = 1_700_006_400_000L;
+
+    private final AtomicLong clock = new AtomicLong(START);
+
+    @Test
+    void testCountsAndAmountsPerWindow() {
+        VelocityStore store = new VelocityStore(1024, clock::get, new SimpleMeterRegistry());
+
+        store.record(CARD, 100_00);
+        store.record(CARD, 50_00);
+        store.record("5500000000000004", 10_00);
+
+        assertEquals(2, store.count(CARD, VelocityWindow.MINUTE));
+        assertEquals(150_00, store.amount(CARD, VelocityWindow.DAY));
+        assertEquals(0, store.count("6011000000000004", VelocityWindow.HOUR));
+
+        clock.addAndGet(120_000);
+        assertEquals(0, store.count(CARD, VelocityWindow.MINUTE));
+        assertEquals(2, store.count(CARD, VelocityWindow.HOUR));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void testPreviousIntervalIsWeightedBySlidingWindow() {
+        VelocityStore store = new VelocityStore(1024, clock::get, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            store.record(CARD, 10_00);
+        }
+
+        long intoNextMinute = 60_000 - START % 60_000 + 15_000;
+        clock.addAndGet(intoNextMinute);
+
+        assertEquals(7, store.count(CARD, VelocityWindow.MINUTE));
+        assertEquals(75_00, store.amount(CARD, VelocityWindow.MINUTE));
+    }
+
+    @Test
+    void testFullStoreReplacesOldestCard() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VelocityStore store = new VelocityStore(1, clock::get, registry);
+
+        for (int card = 0; card < 5_000; card++) {
+            store.record(String.format("4%015d", card), 1_00);
+            clock.addAndGet(60_000);
+        }
+
+        assertTrue(store.size() <= 64 * 8);
+        assertTrue(store.evictions() > 0);
+        assertEquals(1, store.count(String.format("4%015d", 4_999), VelocityWindow.DAY));
+        assertEquals(store.evictions(), registry.get("authorization.velocity.evictions").functionCounter().count());
+    }
+}
@@ -0,0 +1,115 @@
+package com.destaxa.loadgen;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribuição dos valores das requisições geradas, por categoria e com pesos relativos, por exemplo
+ * {@code approved=90,above-limit=5,non-positive=5}.
+ */
+final class AmountMix {
+
+    enum Category {
+        /**
+         * Entre 0,01 e o limite da regra de valor máximo: aprovadas.
+         */
+        APPROVED("approved"),
+        /**
+         * Acima do limite, até dez vezes ele: negadas pela regra de valor máximo, que pode atrasar a resposta.
+         */
+        ABOVE_LIMIT("above-limit"),
+        /**
+         * Zero ou negativo: negadas pela regra de valor mínimo.
+         */
+        NON_POSITIVE("non-positive");
+
+        private final String label;
+
+        Category(String label) {
+            this.label = label;
+        }
+
+        String label() {
+            return label;
+        }
+
+        static Category fromLabel(String label) {
+            for (Category category : values()) {
+                if (category.label.equals(label)) {
+                    return category;
+                }
+            }
+            throw new IllegalArgumentException("Categoria de valor desconhecida: " + label);
+        }
+    }
+
+    record Sample(Category category, BigDecimal amount) {
+    }
+
+    private final Category[] categories;
+    private final int[] cumulativeWeights;
+    private final long limitCents;
+
+    private AmountMix(Map<Category, Integer> weights, BigDecimal limit) {
+        this.categories = new Category[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        this.limitCents = limit.movePointRight(2).setScale(0, RoundingMode.DOWN).longValueExact();
+
+        int index = 0;
+        int total = 0;
+        for (Map.Entry<Category, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            categories[index] = entry.getKey();
+            cumulativeWeights[index++] = total;
+        }
+    }
+
+    static AmountMix parse(String mix, BigDecimal limit) {
+        if (limit.signum() <= 0) {
+            throw new IllegalArgumentException("Limite deve ser positivo: " + limit);
+        }
+
+        Map<Category, Integer> weights = new EnumMap<>(Category.class);
+
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida na distribuição de valores: " + entry);
+            }
+
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Peso negativo na distribuição de valores: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Category.fromLabel(parts[0].trim()), weight);
+            }
+        }
+
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Distribuição de valores sem nenhum peso positivo: " + mix);
+        }
+
+        return new AmountMix(weights, limit);
+    }
+
+    Sample next(ThreadLocalRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (pick >= cumulativeWeights[index]) {
+            index++;
+        }
+
+        Category category = categories[index];
+        long cents = switch (category) {
+            case APPROVED -> random.nextLong(1, limitCents + 1);
+            case ABOVE_LIMIT -> random.nextLong(limitCents + 1, limitCents * 10 + 2);
+            case NON_POSITIVE -> random.nextBoolean() ? 0 : -random.nextLong(1, limitCents + 1);
+        };
+
+        return new Sample(category, BigDecimal.valueOf(cents, 2));
+    }
+}
@@ -0,0 +1,161 @@
+package com.destaxa.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Envia {@code POST /api/authorization?wait=...} e completa quando a decisão chega: na própria resposta ou, quando a
+ * API responde {@code 202} antes da decisão, pelo primeiro evento de {@code GET /api/authorization/{id}/events}.
+ */
+final class AuthorizationClient implements AutoCloseable {
+
+    private static final int ACCEPTED = 202;
+    private static final int SERVICE_UNAVAILABLE = 503;
+    /**
+     * Evento enviado pela API quando a publicação da requisição não foi confirmada; equivale ao {@code 503} da consulta.
+     */
+    private static final String FAILURE_EVENT = "failure";
+
+    /**
+     * Resultado de uma requisição.
+     *
+     * @param status       status HTTP da resposta que trouxe a decisão (ou do erro de validação/admissão)
+     * @param responseCode campo 39 da decisão, ou {@code null} quando não houve decisão
+     * @param decidedAt    instante ({@link System#nanoTime()}) em que a decisão foi recebida
+     */
+    record Outcome(int status, String responseCode, long decidedAt) {
+    }
+
+    private final URI baseUri;
+    private final long waitMillis;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    private final ExecutorService eventReaders = Executors.newCachedThreadPool(daemon("loadgen-events-"));
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @param timeout prazo para a decisão chegar; depois dele a requisição falha com {@link TimeoutException}, em vez
+     *                de esperar pelo fim do stream de eventos
+     */
+    AuthorizationClient(URI baseUri, long waitMillis, Duration timeout) {
+        this.baseUri = baseUri;
+        this.waitMillis = waitMillis;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newCachedThreadPool(daemon("loadgen-http-")))
+            .build();
+    }
+
+    CompletableFuture<Outcome> authorize(String externalId, BigDecimal amount) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/authorization?wait=" + waitMillis))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body(externalId, amount)))
+            .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenCompose(response -> {
+            if (response.statusCode() == ACCEPTED) {
+                return awaitDecision(externalId);
+            }
+            return CompletableFuture.completedFuture(outcome(response.statusCode(), response.body()));
+        }).orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private CompletableFuture<Outcome> awaitDecision(String externalId) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/authorization/" + externalId + "/events"))
+            .header("Accept", "text/event-stream")
+            .GET()
+            .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofLines()).thenApplyAsync(response -> {
+            try (Stream<String> lines = response.body()) {
+                if (response.statusCode() != 200) {
+                    return new Outcome(response.statusCode(), null, System.nanoTime());
+                }
+
+                Iterator<String> iterator = lines.iterator();
+                String event = null;
+
+                while (iterator.hasNext()) {
+                    String line = iterator.next();
+
+                    if (line.startsWith("event:")) {
+                        event = line.substring("event:".length()).strip();
+                    } else if (line.startsWith("data:")) {
+                        return FAILURE_EVENT.equals(event)
+                            ? new Outcome(SERVICE_UNAVAILABLE, null, System.nanoTime())
+                            : outcome(200, line.substring("data:".length()));
+                    }
+                }
+
+                throw new CompletionException(new IOException("Stream de eventos encerrado sem decisão: " + externalId));
+            }
+        }, eventReaders);
+    }
+
+    private Outcome outcome(int status, String body) {
+        long decidedAt = System.nanoTime();
+        String responseCode = null;
+
+        if (status == 200) {
+            try {
+                JsonNode code = objectMapper.readTree(body).get("responseCode");
+                responseCode = code != null ? code.asText() : null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return new Outcome(status, responseCode, decidedAt);
+    }
+
+    private String body(String externalId, BigDecimal amount) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ObjectNode body = objectMapper.createObjectNode()
+            .put("externalId", externalId)
+            .put("value", amount)
+            .put("cardNumber", String.format("4%015d", random.nextLong(1_000_000_000_000_000L)))
+            .put("cvv", String.format("%03d", random.nextInt(1000)))
+            .put("expMonth", random.nextInt(1, 13))
+            .put("expYear", 30)
+            .put("holderName", "Carga " + externalId);
+        return body.toString();
+    }
+
+    @Override
+    public void close() {
+        eventReaders.shutdownNow();
+        httpClient.executor().ifPresent(executor -> ((ExecutorService) executor).shutdownNow());
+    }
+
+    static ThreadFactory daemon(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.destaxa.loadgen;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code users} usuários virtuais, cada um em sua thread, enviando a próxima requisição assim que recebe a decisão
+ * anterior. A carga oferecida cai quando o sistema fica lento, por isso as latências deste modo precisam da correção
+ * de coordinated omission feita pelo {@link LatencyReport}.
+ */
+final class ClosedLoopDriver extends LoadDriver {
+
+    private final int users;
+
+    ClosedLoopDriver(AuthorizationClient client, AmountMix mix, String runId, int users) {
+        super(client, mix, runId);
+        this.users = users;
+    }
+
+    @Override
+    void run(Duration duration, LatencyReport report) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>(users);
+
+        report.start();
+        long end = System.nanoTime() + duration.toNanos();
+
+        for (int i = 0; i < users; i++) {
+            Thread thread = new Thread(() -> {
+                long now;
+                while ((now = System.nanoTime()) - end < 0) {
+                    submit(report, now).join();
+                }
+            }, "loadgen-user-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        report.finish();
+    }
+}
@@ -0,0 +1,173 @@
+package com.destaxa.loadgen;
+
+import com.destaxa.loadgen.AmountMix.Category;
+import com.destaxa.loadgen.AuthorizationClient.Outcome;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências de uma execução, em microssegundos, por categoria de valor.
+ * <p>
+ * O tempo de resposta é medido do instante em que a requisição <em>deveria</em> ter sido enviada até a decisão. No
+ * modo open-loop esse é o horário previsto pela taxa de chegada, de modo que atrasos do próprio gerador, ou de
+ * conexões ocupadas, entram na medida em vez de serem omitidos (coordinated omission). No modo closed-loop cada
+ * usuário só envia depois da decisão anterior; a correção é feita pelo HdrHistogram com o intervalo esperado entre
+ * amostras ({@code expectedIntervalMicros}). O tempo de serviço, do envio efetivo até a decisão, é guardado à parte
+ * para comparação.
+ */
+final class LatencyReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final long expectedIntervalMicros;
+    private final Map<Category, Histogram> responseTimes = new EnumMap<>(Category.class);
+    private final Map<Category, Histogram> serviceTimes = new EnumMap<>(Category.class);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> responseCodes = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    LatencyReport(long expectedIntervalMicros) {
+        this.expectedIntervalMicros = expectedIntervalMicros;
+
+        for (Category category : Category.values()) {
+            responseTimes.put(category, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+            serviceTimes.put(category, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+        }
+    }
+
+    void start() {
+        startedAt = System.nanoTime();
+    }
+
+    void finish() {
+        finishedAt = System.nanoTime();
+    }
+
+    /**
+     * @param intendedAt instante em que a requisição deveria ter sido enviada
+     * @param sentAt     instante em que foi de fato enviada
+     */
+    void record(Category category, long intendedAt, long sentAt, Outcome outcome, Throwable error) {
+        if (error != null) {
+            errors.increment();
+            return;
+        }
+
+        responseTimes.get(category).recordValue(micros(outcome.decidedAt() - intendedAt));
+        serviceTimes.get(category).recordValue(micros(outcome.decidedAt() - sentAt));
+        statuses.computeIfAbsent(outcome.status(), status -> new LongAdder()).increment();
+
+        if (outcome.responseCode() != null) {
+            responseCodes.computeIfAbsent(outcome.responseCode(), code -> new LongAdder()).increment();
+        }
+    }
+
+    long completed() {
+        return total(serviceTimes).getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    Map<String, Long> responseCodes() {
+        Map<String, Long> counts = new TreeMap<>();
+        responseCodes.forEach((code, count) -> counts.put(code, count.sum()));
+        return counts;
+    }
+
+    /**
+     * @return média do tempo de serviço, usada como intervalo esperado do closed-loop quando não informado
+     */
+    long meanServiceTimeMicros() {
+        return (long) total(serviceTimes).getMean();
+    }
+
+    /**
+     * @return tempos de resposta corrigidos para coordinated omission, somando todas as categorias
+     */
+    Histogram correctedResponseTimes() {
+        return corrected(total(responseTimes));
+    }
+
+    void print(PrintStream out) {
+        double seconds = (finishedAt - startedAt) / 1e9;
+
+        out.printf("Concluídas: %d em %.1fs (%.1f req/s), erros (conexão ou decisão fora do prazo): %d%n", completed(), seconds,
+            completed() / Math.max(seconds, 1e-9), errors());
+        out.println("Status HTTP: " + statuses());
+        out.println("Códigos de resposta: " + responseCodes());
+        if (expectedIntervalMicros > 0) {
+            out.printf("Correção de coordinated omission com intervalo esperado de %dµs%n", expectedIntervalMicros);
+        }
+
+        out.printf("%n%-28s %10s %10s %10s %10s %10s %10s %10s%n", "latência (ms)", "n", "p50", "p90", "p99",
+            "p99.9", "p99.99", "max");
+        printRow(out, "total", correctedResponseTimes());
+        for (Category category : Category.values()) {
+            printRow(out, category.label(), corrected(responseTimes.get(category)));
+        }
+        printRow(out, "total (tempo de serviço)", total(serviceTimes));
+    }
+
+    /**
+     * Grava a distribuição de percentis (formato .hgrm, em milissegundos) do total e de cada categoria.
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        writeDistribution(directory.resolve("total.hgrm"), correctedResponseTimes());
+        writeDistribution(directory.resolve("total-service-time.hgrm"), total(serviceTimes));
+        for (Category category : Category.values()) {
+            writeDistribution(directory.resolve(category.label() + ".hgrm"), corrected(responseTimes.get(category)));
+        }
+    }
+
+    private Histogram corrected(Histogram histogram) {
+        return expectedIntervalMicros > 0 ? histogram.copyCorrectedForCoordinatedOmission(expectedIntervalMicros) : histogram;
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram) {
+        out.printf("%-28s %10d", label, histogram.getTotalCount());
+        for (double percentile : PERCENTILES) {
+            out.printf(" %10.3f", histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf(" %10.3f%n", histogram.getMaxValue() / 1000.0);
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static Histogram total(Map<Category, Histogram> histograms) {
+        Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        histograms.values().forEach(total::add);
+        return total;
+    }
+
+    private static long micros(long nanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+}
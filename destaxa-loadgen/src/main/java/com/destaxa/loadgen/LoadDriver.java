@@ -0,0 +1,49 @@
+package com.destaxa.loadgen;
+
+import com.destaxa.loadgen.AmountMix.Sample;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera a carga por um período e registra cada decisão no {@link LatencyReport}.
+ */
+abstract class LoadDriver {
+
+    private final AuthorizationClient client;
+    private final AmountMix mix;
+    private final String runId;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param runId prefixo dos {@code externalId}, que precisa mudar a cada execução: a API guarda os resultados e
+     *              responde a um {@code externalId} repetido sem consultar o autorizador
+     */
+    LoadDriver(AuthorizationClient client, AmountMix mix, String runId) {
+        this.client = client;
+        this.mix = mix;
+        this.runId = runId;
+    }
+
+    /**
+     * Gera carga durante {@code duration} e retorna depois que as requisições pendentes terminam.
+     */
+    abstract void run(Duration duration, LatencyReport report) throws InterruptedException;
+
+    /**
+     * Envia uma requisição com valor sorteado pela distribuição e registra a decisão, medida a partir de
+     * {@code intendedAt}.
+     */
+    CompletableFuture<Void> submit(LatencyReport report, long intendedAt) {
+        Sample sample = mix.next(ThreadLocalRandom.current());
+        String externalId = runId + Long.toString(sequence.incrementAndGet(), Character.MAX_RADIX);
+        long sentAt = System.nanoTime();
+
+        return client.authorize(externalId, sample.amount()).handle((outcome, e) -> {
+            report.record(sample.category(), intendedAt, sentAt, outcome, e);
+            return null;
+        });
+    }
+}
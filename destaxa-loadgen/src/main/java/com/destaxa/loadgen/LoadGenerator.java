@@ -0,0 +1,91 @@
+package com.destaxa.loadgen;
+
+import com.destaxa.loadgen.LoadOptions.Mode;
+import com.destaxa.standalone.DestaxaStandaloneApplication;
+import com.destaxa.standalone.DestaxaStandaloneApplication.Standalone;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gerador de carga da API de autorização, em open-loop (taxa fixa) ou closed-loop (usuários virtuais). Imprime os
+ * percentis de latência por categoria de valor e grava as distribuições em arquivos .hgrm.
+ */
+@Slf4j
+public final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        LatencyReport report;
+        if (options.embedded()) {
+            try (Standalone standalone = DestaxaStandaloneApplication.run(options.standaloneArgs().toArray(String[]::new))) {
+                int port = ((WebServerApplicationContext) standalone.api()).getWebServer().getPort();
+                report = run(options, URI.create("http://localhost:" + port));
+            }
+        } else {
+            report = run(options, options.url());
+        }
+
+        report.print(System.out);
+        report.write(options.output());
+        log.info("Distribuições gravadas em {}", options.output().toAbsolutePath());
+    }
+
+    /**
+     * Executa o aquecimento, descartado, e a medição contra a API em {@code url}.
+     */
+    static LatencyReport run(LoadOptions options, URI url) throws InterruptedException {
+        // Cada requisição falha no seu prazo; a margem cobre as que foram enviadas por último
+        Duration drainTimeout = options.timeout().plusSeconds(5);
+
+        try (AuthorizationClient client = new AuthorizationClient(url, options.waitMillis(), options.timeout())) {
+            AmountMix mix = AmountMix.parse(options.mix(), options.limit());
+            String runId = runId();
+            LoadDriver driver = options.mode() == Mode.OPEN
+                ? new OpenLoopDriver(client, mix, runId, options.rate(), options.maxInFlight(), drainTimeout)
+                : new ClosedLoopDriver(client, mix, runId, options.users());
+
+            long expectedIntervalMicros = options.expectedIntervalMicros();
+            if (!options.warmup().isZero()) {
+                log.info("Aquecimento de {}s em {} ({})", options.warmup().toSeconds(), url, options.mode());
+                LatencyReport warmup = new LatencyReport(0);
+                driver.run(options.warmup(), warmup);
+
+                if (expectedIntervalMicros == 0) {
+                    expectedIntervalMicros = warmup.meanServiceTimeMicros();
+                }
+            }
+
+            log.info("Medição de {}s em {} ({})", options.duration().toSeconds(), url, options.mode());
+            // No open-loop a latência já é medida a partir do horário previsto; a correção só se aplica ao closed-loop
+            LatencyReport report = new LatencyReport(options.mode() == Mode.CLOSED ? expectedIntervalMicros : 0);
+            driver.run(options.duration(), report);
+            return report;
+        }
+    }
+
+    /**
+     * Prefixo de 8 caracteres dos {@code externalId}: segundos da época e um caractere aleatório, em base 36. Sobram 7
+     * caracteres da sequência dentro dos 15 do campo 42.
+     */
+    private static String runId() {
+        return "L" + Long.toString(Instant.now().getEpochSecond(), Character.MAX_RADIX)
+            + Character.forDigit(ThreadLocalRandom.current().nextInt(Character.MAX_RADIX), Character.MAX_RADIX);
+    }
+}
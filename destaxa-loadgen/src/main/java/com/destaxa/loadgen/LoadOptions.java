@@ -0,0 +1,112 @@
+package com.destaxa.loadgen;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opções do gerador de carga, no formato {@code --nome=valor}. Com {@code --embedded}, as opções desconhecidas são
+ * repassadas ao destaxa-standalone (por exemplo {@code --authorization.sync.max-wait=1000}).
+ */
+record LoadOptions(URI url, Mode mode, double rate, int users, Duration duration, Duration warmup, String mix,
+                   BigDecimal limit, long waitMillis, Duration timeout, int maxInFlight, long expectedIntervalMicros, Path output,
+                   boolean embedded, List<String> standaloneArgs) {
+
+    enum Mode {
+        /**
+         * Requisições chegam a uma taxa fixa ({@code --rate}), independentemente das respostas.
+         */
+        OPEN,
+        /**
+         * {@code --users} usuários virtuais, cada um enviando a próxima requisição assim que recebe a decisão anterior.
+         */
+        CLOSED
+    }
+
+    static final String USAGE = """
+        Uso: java -jar destaxa-loadgen.jar [opções]
+          --url=http://localhost:8080     API alvo (ignorada com --embedded)
+          --embedded                      inicia API e autorizador nesta JVM, com o transporte in-process
+          --mode=open|closed              open-loop (taxa fixa) ou closed-loop (usuários virtuais)
+          --rate=100                      requisições por segundo no open-loop
+          --users=16                      usuários virtuais no closed-loop
+          --duration=30                   segundos de medição
+          --warmup=5                      segundos de aquecimento, descartados
+          --mix=approved=90,above-limit=5,non-positive=5
+          --limit=1000.00                 limite da regra de valor máximo do autorizador
+          --wait=5000                     parâmetro wait do POST, em ms
+          --timeout=30                    segundos para a decisão chegar antes de a requisição contar como erro
+          --max-in-flight=10000           requisições pendentes no open-loop antes de o gerador esperar
+          --expected-interval=0           intervalo esperado do closed-loop, em µs (0: média do aquecimento,
+                                          que então não pode ser 0)
+          --output=loadgen-results        diretório dos arquivos .hgrm
+        """;
+
+    private static final Set<String> FLAGS = Set.of("embedded");
+    private static final Set<String> KEYS = Set.of("url", "embedded", "mode", "rate", "users", "duration", "warmup",
+        "mix", "limit", "wait", "timeout", "max-in-flight", "expected-interval", "output");
+
+    LoadOptions {
+        if (rate <= 0 || users <= 0 || maxInFlight <= 0 || waitMillis < 0 || expectedIntervalMicros < 0
+            || duration.isNegative() || duration.isZero() || warmup.isNegative()
+            || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Opções do gerador de carga inválidas");
+        }
+        // sem aquecimento não há de onde tirar o intervalo, e o closed-loop ficaria sem a correção de coordinated omission
+        if (mode == Mode.CLOSED && warmup.isZero() && expectedIntervalMicros == 0) {
+            throw new IllegalArgumentException("No closed-loop, --warmup=0 exige --expected-interval");
+        }
+    }
+
+    static LoadOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        List<String> standaloneArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg);
+            }
+
+            int separator = arg.indexOf('=');
+            String key = separator < 0 ? arg.substring(2) : arg.substring(2, separator);
+
+            if (!KEYS.contains(key)) {
+                standaloneArgs.add(arg);
+            } else if (separator < 0 && FLAGS.contains(key)) {
+                values.put(key, "true");
+            } else if (separator < 0) {
+                throw new IllegalArgumentException("Opção sem valor: " + arg);
+            } else {
+                values.put(key, arg.substring(separator + 1));
+            }
+        }
+
+        boolean embedded = Boolean.parseBoolean(values.getOrDefault("embedded", "false"));
+        if (!embedded && !standaloneArgs.isEmpty()) {
+            throw new IllegalArgumentException("Opções desconhecidas: " + standaloneArgs);
+        }
+
+        return new LoadOptions(
+            URI.create(values.getOrDefault("url", "http://localhost:8080")),
+            Mode.valueOf(values.getOrDefault("mode", "open").toUpperCase()),
+            Double.parseDouble(values.getOrDefault("rate", "100")),
+            Integer.parseInt(values.getOrDefault("users", "16")),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "5"))),
+            values.getOrDefault("mix", "approved=90,above-limit=5,non-positive=5"),
+            new BigDecimal(values.getOrDefault("limit", "1000.00")),
+            Long.parseLong(values.getOrDefault("wait", "5000")),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("timeout", "30"))),
+            Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+            Long.parseLong(values.getOrDefault("expected-interval", "0")),
+            Path.of(values.getOrDefault("output", "loadgen-results")),
+            embedded,
+            List.copyOf(standaloneArgs));
+    }
+}
@@ -0,0 +1,68 @@
+package com.destaxa.loadgen;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Envia requisições a uma taxa fixa. A requisição {@code i} tem horário previsto {@code início + i / taxa}, e a
+ * latência é medida a partir dele: se o gerador atrasar, por GC ou por ter {@code maxInFlight} requisições
+ * pendentes, o atraso aparece nas latências em vez de reduzir a carga sem ser notado.
+ */
+@Slf4j
+final class OpenLoopDriver extends LoadDriver {
+
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final double rate;
+    private final int maxInFlight;
+    private final Duration drainTimeout;
+
+    OpenLoopDriver(AuthorizationClient client, AmountMix mix, String runId, double rate, int maxInFlight,
+        Duration drainTimeout) {
+        super(client, mix, runId);
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+        this.drainTimeout = drainTimeout;
+    }
+
+    @Override
+    void run(Duration duration, LatencyReport report) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+
+        report.start();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intendedAt = start + (long) (i * intervalNanos);
+            if (intendedAt - end >= 0) {
+                break;
+            }
+
+            waitUntil(intendedAt);
+            inFlight.acquire();
+            submit(report, intendedAt).whenComplete((ignored, e) -> inFlight.release());
+        }
+
+        if (!inFlight.tryAcquire(maxInFlight, drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("{} requisições ainda pendentes após {}s", maxInFlight - inFlight.availablePermits(), drainTimeout.toSeconds());
+        }
+        report.finish();
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
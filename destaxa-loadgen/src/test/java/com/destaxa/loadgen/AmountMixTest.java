@@ -0,0 +1,53 @@
+package com.destaxa.loadgen;
+
+import com.destaxa.loadgen.AmountMix.Category;
+import com.destaxa.loadgen.AmountMix.Sample;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AmountMixTest {
+
+    private static final BigDecimal LIMIT = new BigDecimal("1000.00");
+
+    @Test
+    void testAmountsStayWithinTheirCategory() {
+        AmountMix mix = AmountMix.parse("approved=1,above-limit=1,non-positive=1", LIMIT);
+        Map<Category, Integer> counts = new EnumMap<>(Category.class);
+
+        for (int i = 0; i < 10_000; i++) {
+            Sample sample = mix.next(ThreadLocalRandom.current());
+            counts.merge(sample.category(), 1, Integer::sum);
+
+            switch (sample.category()) {
+                case APPROVED -> assertTrue(sample.amount().signum() > 0 && sample.amount().compareTo(LIMIT) <= 0, sample.toString());
+                case ABOVE_LIMIT -> assertTrue(sample.amount().compareTo(LIMIT) > 0, sample.toString());
+                case NON_POSITIVE -> assertTrue(sample.amount().signum() <= 0, sample.toString());
+            }
+        }
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 2_500, counts.toString()));
+    }
+
+    @Test
+    void testZeroWeightCategoryIsNeverSampled() {
+        AmountMix mix = AmountMix.parse("approved=1,above-limit=0", LIMIT);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(Category.APPROVED, mix.next(ThreadLocalRandom.current()).category());
+        }
+    }
+
+    @Test
+    void testInvalidMixIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> AmountMix.parse("approved=0", LIMIT));
+        assertThrows(IllegalArgumentException.class, () -> AmountMix.parse("declined=10", LIMIT));
+        assertThrows(IllegalArgumentException.class, () -> AmountMix.parse("approved", LIMIT));
+    }
+}
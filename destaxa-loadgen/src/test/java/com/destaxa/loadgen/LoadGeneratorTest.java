@@ -0,0 +1,94 @@
+package com.destaxa.loadgen;
+
+import com.destaxa.standalone.DestaxaStandaloneApplication;
+import com.destaxa.standalone.DestaxaStandaloneApplication.Standalone;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadGeneratorTest {
+
+    @TempDir
+    static Path directory;
+
+    private static Standalone standalone;
+    private static URI url;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        // Regra de valor máximo com atraso maior que o wait, para que as acima do limite cheguem pelo stream de eventos
+        Path rules = Files.writeString(directory.resolve("rules.yaml"), """
+            authorization:
+              rules:
+                chain:
+                  - name: valor-minimo
+                    type: MIN_AMOUNT
+                    amount: 0.01
+                    response-code: "051"
+                  - name: valor-maximo
+                    type: MAX_AMOUNT
+                    amount: 1000.00
+                    response-code: "051"
+                    delay: 300
+            """);
+
+        standalone = DestaxaStandaloneApplication.run("--server.port=0",
+            "--authorization.journal.directory=" + directory.resolve("journal"),
+            "--authorization.results.directory=" + directory.resolve("results"),
+            "--authorization.rules.location=" + rules.toUri(),
+            "--logging.level.com.destaxa.api=WARN", "--logging.level.com.destaxa.authorization=WARN");
+        url = URI.create("http://localhost:" + ((WebServerApplicationContext) standalone.api()).getWebServer().getPort());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        standalone.close();
+    }
+
+    @Test
+    void testOpenLoop() throws Exception {
+        LoadOptions options = LoadOptions.parse("--mode=open", "--rate=50", "--duration=2", "--warmup=1", "--wait=100",
+            "--mix=approved=80,above-limit=10,non-positive=10", "--output=" + directory.resolve("open"));
+
+        LatencyReport report = LoadGenerator.run(options, url);
+
+        assertEquals(0, report.errors());
+        assertTrue(report.completed() >= 90, "concluídas: " + report.completed());
+        assertTrue(report.statuses().containsKey(200), report.statuses().toString());
+        assertTrue(report.responseCodes().containsKey("000"), report.responseCodes().toString());
+        assertTrue(report.responseCodes().containsKey("051"), report.responseCodes().toString());
+
+        Histogram total = report.correctedResponseTimes();
+        assertEquals(report.completed(), total.getTotalCount());
+        // As acima do limite esperam o atraso da regra
+        assertTrue(total.getMaxValue() >= 300_000, "max: " + total.getMaxValue());
+
+        report.write(options.output());
+        assertTrue(Files.size(options.output().resolve("total.hgrm")) > 0);
+        assertTrue(Files.exists(options.output().resolve("above-limit.hgrm")));
+    }
+
+    @Test
+    void testClosedLoopCorrectsForCoordinatedOmission() throws Exception {
+        LoadOptions options = LoadOptions.parse("--mode=closed", "--users=4", "--duration=2", "--warmup=0",
+            "--expected-interval=1000", "--wait=1000", "--mix=approved=50,above-limit=50");
+
+        LatencyReport report = LoadGenerator.run(options, url);
+
+        assertEquals(0, report.errors());
+        assertTrue(report.completed() > 0);
+        // Cada decisão de 300ms com intervalo esperado de 1ms gera amostras corrigidas para as requisições que um
+        // usuário deixou de enviar enquanto esperava
+        assertTrue(report.correctedResponseTimes().getTotalCount() > report.completed(),
+            report.correctedResponseTimes().getTotalCount() + " <= " + report.completed());
+    }
+}
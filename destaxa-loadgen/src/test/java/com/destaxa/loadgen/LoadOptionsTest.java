@@ -0,0 +1,17 @@
+package com.destaxa.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadOptionsTest {
+
+    @Test
+    void testClosedLoopWithoutWarmupRequiresExpectedInterval() {
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--mode=closed", "--warmup=0"));
+
+        assertEquals(500, LoadOptions.parse("--mode=closed", "--warmup=0", "--expected-interval=500").expectedIntervalMicros());
+        assertTrue(LoadOptions.parse("--mode=open", "--warmup=0").warmup().isZero());
+        assertEquals(0, LoadOptions.parse("--mode=closed", "--warmup=1").expectedIntervalMicros());
+    }
+}
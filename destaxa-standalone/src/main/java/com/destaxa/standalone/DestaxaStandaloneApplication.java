@@ -0,0 +1,147 @@
+package com.destaxa.standalone;
+
+import com.destaxa.api.DestaxaApiApplication;
+import com.destaxa.api.transport.InProcessAuthorizationTransport;
+import com.destaxa.api.transport.InProcessResponseListener;
+import com.destaxa.authorization.DestaxaAutorizadorApplication;
+import com.destaxa.authorization.transport.InProcessReplyTransport;
+import com.destaxa.authorization.transport.InProcessRequestListener;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.UrlResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiPredicate;
+
+/**
+ * Executa a API e o autorizador na mesma JVM, cada um no próprio contexto Spring, trocando as mensagens ISO8583 pelo
+ * transporte in-process em vez do RabbitMQ.
+ * <p>
+ * Cada contexto lê o {@code application.yaml} da própria aplicação e, com precedência sobre ele, o
+ * {@code destaxa-api.yaml} ou {@code destaxa-autorizador.yaml} deste módulo, que ativa o transporte in-process e
+ * separa as portas HTTP. Os contextos só compartilham funções {@code BiPredicate<String, byte[]>} que enfileiram uma
+ * mensagem na fila de entrada do outro lado.
+ */
+public final class DestaxaStandaloneApplication {
+
+    private static final String APPLICATION_YAML = "application.yaml";
+
+    private DestaxaStandaloneApplication() {
+    }
+
+    public static void main(String[] args) {
+        run(args);
+    }
+
+    /**
+     * Inicia o autorizador e, em seguida, a API, que já sobe conectada à fila de requisições do autorizador.
+     */
+    public static Standalone run(String... args) {
+        AtomicReference<InProcessResponseListener> responses = new AtomicReference<>();
+
+        ConfigurableApplicationContext autorizador = application(DestaxaAutorizadorApplication.class, "destaxa-autorizador",
+            context -> register(context, InProcessReplyTransport.PEER_BEAN,
+                (correlationId, isoMessage) -> responses.get().accept(correlationId, isoMessage)))
+            .run(args);
+
+        InProcessRequestListener requests = autorizador.getBean(InProcessRequestListener.class);
+
+        try {
+            ConfigurableApplicationContext api = application(DestaxaApiApplication.class, "destaxa-api", context -> {
+                register(context, InProcessAuthorizationTransport.PEER_BEAN, requests::accept);
+                context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        if (bean instanceof InProcessResponseListener listener) {
+                            responses.set(listener);
+                        }
+                        return bean;
+                    }
+                });
+            }).run(args);
+
+            return new Standalone(api, autorizador);
+
+        } catch (RuntimeException e) {
+            autorizador.close();
+            throw e;
+        }
+    }
+
+    private static SpringApplicationBuilder application(Class<?> source, String configName,
+        ApplicationContextInitializer<ConfigurableApplicationContext> initializer) {
+        return new SpringApplicationBuilder(source)
+            .main(source)
+            .properties("spring.config.name=" + configName)
+            .listeners(new ApplicationYamlLoader(source))
+            .initializers(initializer);
+    }
+
+    private static void register(ConfigurableApplicationContext context, String name, BiPredicate<String, byte[]> peer) {
+        context.getBeanFactory().registerSingleton(name, peer);
+    }
+
+    /**
+     * Os dois contextos iniciados; fechar encerra a API antes do autorizador.
+     */
+    public record Standalone(ConfigurableApplicationContext api, ConfigurableApplicationContext autorizador)
+        implements AutoCloseable {
+
+        @Override
+        public void close() {
+            api.close();
+            autorizador.close();
+        }
+    }
+
+    /**
+     * Acrescenta, com a menor precedência, o {@code application.yaml} do jar (ou diretório) da classe da aplicação,
+     * já que os dois módulos têm um arquivo com esse nome no classpath.
+     */
+    private static final class ApplicationYamlLoader implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+        private final Class<?> source;
+
+        private ApplicationYamlLoader(Class<?> source) {
+            this.source = source;
+        }
+
+        @Override
+        public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+            try {
+                for (PropertySource<?> propertySource : new YamlPropertySourceLoader()
+                    .load(source.getSimpleName() + " (" + APPLICATION_YAML + ")", new UrlResource(applicationYaml()))) {
+                    event.getEnvironment().getPropertySources().addLast(propertySource);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao ler o " + APPLICATION_YAML + " de " + source.getSimpleName(), e);
+            }
+        }
+
+        private URL applicationYaml() throws IOException {
+            String codeSource = source.getProtectionDomain().getCodeSource().getLocation().toString();
+            Enumeration<URL> candidates = source.getClassLoader().getResources(APPLICATION_YAML);
+
+            while (candidates.hasMoreElements()) {
+                URL candidate = candidates.nextElement();
+                String url = candidate.toString();
+
+                if (url.startsWith(codeSource) || url.startsWith("jar:" + codeSource + "!/")) {
+                    return candidate;
+                }
+            }
+
+            throw new IllegalStateException(APPLICATION_YAML + " de " + source.getSimpleName() + " não encontrado em " + codeSource);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.destaxa.standalone;
+
+import com.destaxa.standalone.DestaxaStandaloneApplication.Standalone;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DestaxaStandaloneApplicationTest {
+
+    @TempDir
+    static Path directory;
+
+    private static Standalone standalone;
+    private static HttpClient httpClient;
+
+    @BeforeAll
+    static void setUp() {
+        standalone = DestaxaStandaloneApplication.run("--server.port=0",
+            "--authorization.journal.directory=" + directory.resolve("journal"),
+            "--authorization.results.directory=" + directory.resolve("results"));
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        standalone.close();
+    }
+
+    @Test
+    void testAuthorizationRoundTripWithoutBroker() throws Exception {
+        HttpResponse<String> approved = authorizeAndWait("ext-sa-1", "10.50");
+        assertEquals(200, approved.statusCode());
+        assertTrue(approved.body().contains("\"responseCode\":\"000\""), approved.body());
+
+        HttpResponse<String> declined = authorizeAndWait("ext-sa-2", "-1.00");
+        assertEquals(200, declined.statusCode());
+        assertTrue(declined.body().contains("\"responseCode\":\"051\""), declined.body());
+
+        HttpResponse<String> status = httpClient.send(HttpRequest.newBuilder(apiUri("/api/authorization/ext-sa-1")).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, status.statusCode());
+
+        assertEquals(0, meterRegistry(standalone.api()).get("authorization.inprocess.rejected").counter().count());
+        assertTrue(meterRegistry(standalone.autorizador()).get("authorization.responses").tag("code", "000").counter().count() >= 1);
+    }
+
+    @Test
+    void testRabbitListenersAreNotStarted() {
+        standalone.api().getBean(RabbitListenerEndpointRegistry.class).getListenerContainers()
+            .forEach(container -> assertFalse(container.isRunning()));
+        standalone.autorizador().getBean(RabbitListenerEndpointRegistry.class).getListenerContainers()
+            .forEach(container -> assertFalse(container.isRunning()));
+    }
+
+    private HttpResponse<String> authorizeAndWait(String externalId, String value) throws Exception {
+        String body = """
+            {"externalId":"%s","value":%s,"cardNumber":"1234567890123456","cvv":"123",
+             "expMonth":12,"expYear":25,"holderName":"João da Silva"}
+            """.formatted(externalId, value);
+
+        HttpRequest request = HttpRequest.newBuilder(apiUri("/api/authorization?wait=true"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI apiUri(String path) {
+        int port = ((WebServerApplicationContext) standalone.api()).getWebServer().getPort();
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static MeterRegistry meterRegistry(ApplicationContext context) {
+        return context.getBean(MeterRegistry.class);
+    }
+}